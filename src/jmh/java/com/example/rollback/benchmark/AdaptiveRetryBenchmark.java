@@ -0,0 +1,88 @@
+package com.example.rollback.benchmark;
+
+import com.example.rollback.domain.DepositRequest;
+import com.example.rollback.retry.RetryMetrics;
+import com.example.rollback.service.AccountService;
+import com.example.rollback.util.GuidQueueUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 경합이 심한 계좌(1번)와 한산한 계좌(2번)에 입금이 섞여 들어올 때 RANDOM_BACKOFF와 ADAPTIVE 재시도 전략을 비교합니다.
+ * 응답 시간 분포(SampleTime의 p0.99)와 함께, 종료 시 입금 1건당 시도 횟수와 경합(BUSY) 시도 수를 출력합니다.
+ * 재시도 예산과 회로 차단기는 끄고, 재시도 전략만 바꿔 비교합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@Threads(16)
+public class AdaptiveRetryBenchmark {
+
+    /** 경합 계좌로 가는 입금 비율 (%) */
+    private static final int HOT_PERCENT = 80;
+
+    @Param({"RANDOM_BACKOFF", "ADAPTIVE"})
+    public String strategy;
+
+    private ConfigurableApplicationContext context;
+    private AccountService accountService;
+    private GuidQueueUtil guidQueueUtil;
+    private DepositRequest hotRequest;
+    private DepositRequest coldRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("adaptive-" + strategy,
+                "banking.deposit.mode=ROW_LOCK",
+                "banking.retry.strategy=" + strategy,
+                "banking.retry.budget.enabled=false",
+                "banking.deposit.circuit-breaker.enabled=false");
+        accountService = context.getBean(AccountService.class);
+        guidQueueUtil = context.getBean(GuidQueueUtil.class);
+        hotRequest = BenchmarkContext.deposit(1L, "1");
+        coldRequest = BenchmarkContext.deposit(2L, "1");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        for (RetryMetrics.OperationSnapshot operation : context.getBean(RetryMetrics.class).snapshot(0).operations()) {
+            if (operation.executions() > 0) {
+                System.out.printf("%n[%s] %s - 실행: %d, 1건당 시도: %.2f, 경합 시도: %d, 최종 실패: %d%n",
+                        strategy, operation.operation(), operation.executions(),
+                        (double) operation.attempts() / operation.executions(),
+                        operation.busyAttempts(), operation.finalFailures());
+            }
+        }
+        context.close();
+    }
+
+    @Benchmark
+    public void mixedDeposit(RequestOutcomes outcomes) {
+        DepositRequest request = ThreadLocalRandom.current().nextInt(100) < HOT_PERCENT ? hotRequest : coldRequest;
+        try {
+            BenchmarkContext.inRequest(guidQueueUtil, () -> accountService.deposit(request));
+            outcomes.succeeded++;
+        } catch (RuntimeException ex) {
+            outcomes.failed++;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.rollback.benchmark;
+
+import com.example.rollback.RollbackApplication;
+import com.example.rollback.domain.DepositRequest;
+import com.example.rollback.util.ContextHolder;
+import com.example.rollback.util.GuidQueueUtil;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 벤치마크용 애플리케이션 컨텍스트를 띄웁니다. (웹 서버 없이, 벤치마크마다 별도 H2 메모리 DB)
+ */
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    /**
+     * 컨텍스트를 시작합니다. 로그는 줄이고, 추가 설정({@code key=value})을 덮어씁니다.
+     * 설정은 application.yml보다 우선하도록 명령행 인자로 전달합니다.
+     */
+    static ConfigurableApplicationContext start(String database, String... properties) {
+        List<String> all = new ArrayList<>(List.of(
+                "spring.datasource.url=jdbc:h2:mem:" + database,
+                "spring.main.banner-mode=off",
+                "logging.level.root=WARN",
+                "logging.level.com.example.rollback=ERROR",
+                "logging.level.org.springframework.transaction=WARN"));
+        all.addAll(List.of(properties));
+        return new SpringApplicationBuilder(RollbackApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run(all.stream().map(property -> "--" + property).toArray(String[]::new));
+    }
+
+    /**
+     * 입금 요청을 만듭니다.
+     */
+    static DepositRequest deposit(long accountId, String amount) {
+        DepositRequest request = new DepositRequest();
+        request.setAccountId(accountId);
+        request.setCustomerId(1L);
+        request.setAmount(new BigDecimal(amount));
+        request.setCurrency("KRW");
+        return request;
+    }
+
+    /**
+     * 요청마다 새 GUID 컨텍스트에서 실행합니다. (ContextFilter와 같은 방식)
+     */
+    static <T> T inRequest(GuidQueueUtil guidQueueUtil, Supplier<T> action) {
+        ContextHolder.initializeContext(guidQueueUtil.getGUID());
+        try {
+            return action.get();
+        } finally {
+            ContextHolder.clearContext();
+        }
+    }
+}
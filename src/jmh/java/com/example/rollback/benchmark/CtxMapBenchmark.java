@@ -0,0 +1,88 @@
+package com.example.rollback.benchmark;
+
+import com.example.rollback.util.ContextKey;
+import com.example.rollback.util.CtxMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청 하나의 컨텍스트 사용(초기화 → 클라이언트/업무 정보 저장 → 조회 → 이벤트용 복사 → 처리 결과 저장) 비용을
+ * 이전 구현(ConcurrentHashMap 저장소, 복사 시 전체 복제)과 비교합니다.
+ * 호출당 할당량은 {@code -PjmhProfilers=gc}의 gc.alloc.rate.norm으로 확인합니다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CtxMapBenchmark {
+
+    private static final String GUID = "20261017000000AAAAAAAAAAA00001";
+    private static final String REQUEST_ID = "6f1c2a9e-8f3b-4c55-9a57-0d0f6c1b2e11";
+    private static final Instant REQUEST_TIME = Instant.parse("2026-10-17T00:00:00Z");
+
+    private long orderId = 1;
+
+    @Benchmark
+    public void current(Blackhole blackhole) {
+        CtxMap context = new CtxMap()
+                .put(ContextKey.GUID, GUID)
+                .put(ContextKey.REQUEST_ID, REQUEST_ID)
+                .put(ContextKey.REQUEST_TIME, REQUEST_TIME)
+                .put(ContextKey.THREAD_NAME, "http-nio-8080-exec-1");
+        context.put(ContextKey.CLIENT_IP, "127.0.0.1")
+                .put(ContextKey.USER_AGENT, "benchmark");
+        context.put(ContextKey.CUSTOMER_ID, "1")
+                .putLong(ContextKey.ORDER_ID, orderId++)
+                .putInt(ContextKey.AMOUNT, 1000);
+
+        blackhole.consume(context.get(ContextKey.GUID));
+        blackhole.consume(context.getLong(ContextKey.ORDER_ID, 0L));
+        blackhole.consume(context.getInt(ContextKey.AMOUNT, 0));
+
+        CtxMap snapshot = context.copy();
+        context.put(ContextKey.PROCESSING_STATUS, "COMPLETED");
+        blackhole.consume(snapshot);
+        blackhole.consume(context);
+    }
+
+    @Benchmark
+    public void legacy(Blackhole blackhole) {
+        Map<String, Object> context = new ConcurrentHashMap<>();
+        context.put("guid", GUID);
+        context.put("requestId", REQUEST_ID);
+        context.put("requestTime", REQUEST_TIME);
+        context.put("threadName", "http-nio-8080-exec-1");
+        context.put("clientIp", "127.0.0.1");
+        context.put("userAgent", "benchmark");
+        context.put("customerId", "1");
+        context.put("orderId", orderId++);
+        context.put("amount", 1000);
+
+        blackhole.consume(context.get("guid"));
+        blackhole.consume(context.get("orderId") instanceof Number n ? n.longValue() : 0L);
+        blackhole.consume(context.get("amount") instanceof Number n ? n.intValue() : 0);
+
+        // 이전 copyContext(): CtxMap.of(asReadOnlyMap())
+        Map<String, Object> snapshot = new ConcurrentHashMap<>(Collections.unmodifiableMap(new HashMap<>(context)));
+        context.put("processingStatus", "COMPLETED");
+        blackhole.consume(snapshot);
+        blackhole.consume(context);
+    }
+}
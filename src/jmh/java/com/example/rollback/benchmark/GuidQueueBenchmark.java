@@ -0,0 +1,60 @@
+package com.example.rollback.benchmark;
+
+import com.example.rollback.config.GuidProperties;
+import com.example.rollback.util.GuidNodeLeaseManager;
+import com.example.rollback.util.GuidQueue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GUID 발급 방식별 처리량을 비교합니다.
+ * SHARED(발급마다 공유 카운터 CAS)는 스레드가 많을수록 카운터 경합이 커지고,
+ * THREAD_BLOCK(스레드별 시퀀스 블록)은 블록 예약 때만 경합합니다.
+ * 노드 임대는 끄고(무작위 식별자) DB 없이 발급 경로만 잽니다. 코어 수 이상의 스레드에서 차이가 드러납니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GuidQueueBenchmark {
+
+    @Param({"SHARED", "THREAD_BLOCK"})
+    public String mode;
+
+    private GuidQueue guidQueue;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        GuidProperties properties = new GuidProperties();
+        properties.setMode(GuidProperties.Mode.valueOf(mode));
+        properties.getNodeLease().setEnabled(false);
+        guidQueue = new GuidQueue(properties, new GuidNodeLeaseManager(properties, null));
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String singleThread() {
+        return guidQueue.getGUID();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String eightThreads() {
+        return guidQueue.getGUID();
+    }
+}
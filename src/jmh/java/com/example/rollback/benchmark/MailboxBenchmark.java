@@ -0,0 +1,72 @@
+package com.example.rollback.benchmark;
+
+import com.example.rollback.domain.DepositRequest;
+import com.example.rollback.service.AccountService;
+import com.example.rollback.util.GuidQueueUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 한 계좌에 입금이 몰릴 때 MAILBOX(계좌별 단일 작성자)와 ROW_LOCK(SKIP LOCKED + RandomBackoff 재시도)을 비교합니다.
+ * 처리량과 함께 응답 시간 분포(SampleTime의 p0.99)를 봅니다.
+ * 재시도 예산과 회로 차단기는 끄고, 기존 재시도 동작 그대로 비교합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@Threads(16)
+public class MailboxBenchmark {
+
+    @Param({"ROW_LOCK", "MAILBOX"})
+    public String mode;
+
+    private ConfigurableApplicationContext context;
+    private AccountService accountService;
+    private GuidQueueUtil guidQueueUtil;
+    private DepositRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("mailbox-" + mode,
+                "banking.deposit.mode=" + mode,
+                "banking.retry.strategy=RANDOM_BACKOFF",
+                "banking.retry.budget.enabled=false",
+                "banking.deposit.circuit-breaker.enabled=false");
+        accountService = context.getBean(AccountService.class);
+        guidQueueUtil = context.getBean(GuidQueueUtil.class);
+        request = BenchmarkContext.deposit(1L, "1");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void hotAccountDeposit(RequestOutcomes outcomes) {
+        try {
+            BenchmarkContext.inRequest(guidQueueUtil, () -> accountService.deposit(request));
+            outcomes.succeeded++;
+        } catch (RuntimeException ex) {
+            outcomes.failed++;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.rollback.benchmark;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * 요청 결과(성공/실패) 건수입니다. 실패한 요청도 처리량에 포함되지 않도록 따로 집계합니다.
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.OPERATIONS)
+public class RequestOutcomes {
+
+    /** 성공한 요청 수 */
+    public long succeeded;
+
+    /** 실패한 요청 수 (재시도 소진, 예산 소진 등) */
+    public long failed;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+        succeeded = 0;
+        failed = 0;
+    }
+}
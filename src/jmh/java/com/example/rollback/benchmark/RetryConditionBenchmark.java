@@ -0,0 +1,123 @@
+package com.example.rollback.benchmark;
+
+import com.example.rollback.config.RetryProperties;
+import com.example.rollback.retry.RetryableException;
+import com.example.rollback.retry.strategy.RetryCondition;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 재시도 조건 판단(실패 경로마다 호출) 비용을 이전 구현(메시지 소문자 변환 + 키워드 스트림)과 비교합니다.
+ * {@code -prof gc}로 호출당 할당량도 확인할 수 있습니다.
+ * <ul>
+ *   <li>LOCK_TIMEOUT: 락 타임아웃 SQL 예외를 감싼 스프링 예외 (타입으로 판단)</li>
+ *   <li>SQL_LOCK_TIMEOUT: 감싸지 않은 H2 락 타임아웃 SQL 예외 (오류 코드로 판단)</li>
+ *   <li>NOT_RETRYABLE: 원인 예외가 여러 단계인 제약 조건 위반 (원인 끝까지 메시지 확인)</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RetryConditionBenchmark {
+
+    @Param({"LOCK_TIMEOUT", "SQL_LOCK_TIMEOUT", "NOT_RETRYABLE"})
+    public String failure;
+
+    private RetryCondition current;
+    private LegacyRetryCondition legacy;
+    private Exception exception;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        current = new RetryCondition(new RetryProperties());
+        legacy = new LegacyRetryCondition();
+        SQLException lockTimeout = new SQLException(
+                "Timeout trying to lock table \"ACCOUNTS\"; SQL statement: SELECT * FROM accounts WHERE id = ? FOR UPDATE",
+                "HYT00", 50200);
+        exception = switch (failure) {
+            case "LOCK_TIMEOUT" -> new CannotAcquireLockException("계좌 잠금 실패", lockTimeout);
+            case "SQL_LOCK_TIMEOUT" -> lockTimeout;
+            default -> new IllegalStateException("입금 처리 실패",
+                    new DataIntegrityViolationException("거래 저장 실패",
+                            new SQLException("Referential integrity constraint violation: \"FK_TRANSACTIONS_ACCOUNT: "
+                                    + "PUBLIC.TRANSACTIONS FOREIGN KEY(ACCOUNT_ID) REFERENCES PUBLIC.ACCOUNTS(ID) (999)\"",
+                                    "23506", 23506)));
+        };
+    }
+
+    @Benchmark
+    public boolean current() {
+        return current.isRetryable(exception);
+    }
+
+    @Benchmark
+    public boolean legacy() {
+        return legacy.isRetryable(exception);
+    }
+
+    /**
+     * 이전 구현입니다. (로그 제외)
+     */
+    static final class LegacyRetryCondition {
+
+        private static final List<String> KEYWORDS = List.of(
+            "ora-00054",
+            "timeout trying to lock",
+            "lock timeout",
+            "busy",
+            "lock conflict",
+            "could not obtain lock"
+        );
+
+        boolean isRetryable(Throwable t) {
+            if (t == null) {
+                return false;
+            }
+            return isDeadlockRetryable(t) || isLockRetryable(t);
+        }
+
+        private boolean isDeadlockRetryable(Throwable t) {
+            if (t.getMessage() == null) {
+                return false;
+            }
+            return t.getMessage().toLowerCase().contains("deadlock");
+        }
+
+        private boolean isLockRetryable(Throwable t) {
+            if (t == null) {
+                return false;
+            }
+            if (t instanceof PessimisticLockingFailureException
+                    || t instanceof OptimisticLockingFailureException
+                    || t instanceof RetryableException) {
+                return true;
+            }
+            String msg = (t.getMessage() != null ? t.getMessage() : "").toLowerCase();
+            if (KEYWORDS.stream().anyMatch(msg::contains)) {
+                return true;
+            }
+            return isLockRetryable(t.getCause());
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.rollback.benchmark;
+
+import com.example.rollback.domain.DepositRequest;
+import com.example.rollback.service.AccountService;
+import com.example.rollback.service.StripedBalanceService;
+import com.example.rollback.util.GuidQueueUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 한 계좌에 입금이 몰릴 때 분할 잔액(stripe) 수에 따른 처리량을 비교합니다.
+ * 분할 수 0은 기본 계좌 행 하나를 두고 경합하는 ROW_LOCK 입금이고, 그 외에는 잠기지 않은 분할 행 하나에 입금합니다.
+ * 재시도 예산과 회로 차단기는 끄고, 기존 재시도 동작 그대로 비교합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@Threads(16)
+public class StripedDepositBenchmark {
+
+    @Param({"0", "4", "16"})
+    public int stripes;
+
+    private ConfigurableApplicationContext context;
+    private AccountService accountService;
+    private GuidQueueUtil guidQueueUtil;
+    private DepositRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("striped-deposit-" + stripes,
+                "banking.deposit.mode=ROW_LOCK",
+                "banking.retry.budget.enabled=false",
+                "banking.deposit.circuit-breaker.enabled=false");
+        accountService = context.getBean(AccountService.class);
+        if (stripes > 0) {
+            context.getBean(StripedBalanceService.class).enableStriping(1L, stripes);
+        }
+        guidQueueUtil = context.getBean(GuidQueueUtil.class);
+        request = BenchmarkContext.deposit(1L, "1");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void hotAccountDeposit(RequestOutcomes outcomes) {
+        try {
+            BenchmarkContext.inRequest(guidQueueUtil, () -> accountService.deposit(request));
+            outcomes.succeeded++;
+        } catch (RuntimeException ex) {
+            outcomes.failed++;
+        }
+    }
+}
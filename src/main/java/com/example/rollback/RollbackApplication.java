@@ -2,11 +2,13 @@ package com.example.rollback;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 /**
  * 애플리케이션 시작점입니다.
  */
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class RollbackApplication {
     
     /**
@@ -28,7 +28,7 @@ public class MeasuredExecutionTimeAspect {
         } catch (Exception ex) {
             long duration = System.currentTimeMillis() - startTime;
             log.error("{} 실패 - 소요시간: {}ms", taskName, duration, ex);
-            throw new RuntimeException(ex); 
+            throw ex;
         }
     }
 }
@@ -1,7 +1,6 @@
 package com.example.rollback.config;
 
 import com.example.rollback.util.ContextHolder;
-import com.example.rollback.util.CtxMap;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
 import org.springframework.context.annotation.Bean;
@@ -44,8 +43,7 @@ public class AsyncConfig {
         return new AsyncUncaughtExceptionHandler() {
             @Override
             public void handleUncaughtException(@NonNull Throwable ex, @NonNull java.lang.reflect.Method method, @NonNull Object... params) {
-                CtxMap context = ContextHolder.getCurrentContext();
-                String guid = context.getString("guid");
+                String guid = ContextHolder.getCurrentGuid();
                 MDC.put("guid", guid);
                 String message = String.format("비동기 메서드 실행 중 예외 발생 - 메서드: %s, 매개변수: %s",
                                                 method.getName(), Arrays.toString(params));
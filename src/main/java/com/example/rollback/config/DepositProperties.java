@@ -0,0 +1,154 @@
+package com.example.rollback.config;
+
+import com.example.rollback.domain.BatchFailureMode;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 입금 처리 방식 설정입니다. ({@code banking.deposit.*})
+ */
+@Data
+@ConfigurationProperties(prefix = "banking.deposit")
+public class DepositProperties {
+
+    /** 입금 처리 모드 */
+    private Mode mode = Mode.ROW_LOCK;
+
+    /** 재시도 트랜잭션 경계 (ROW_LOCK 및 분할 잔액 입금) */
+    private RetryBoundary retryBoundary = RetryBoundary.ATTEMPT;
+
+    /** 계좌별 입금 합치기(COALESCED) 설정 */
+    private Coalescing coalescing = new Coalescing();
+
+    /** 계좌별 단일 작성자(MAILBOX) 설정 */
+    private Mailbox mailbox = new Mailbox();
+
+    /** 일괄 입금 설정 */
+    private Batch batch = new Batch();
+
+    /** NDJSON 스트림 입금 설정 */
+    private Stream stream = new Stream();
+
+    /** 계좌별 회로 차단기 설정 (ROW_LOCK 및 분할 잔액 입금) */
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    /**
+     * 입금 처리 모드입니다.
+     */
+    public enum Mode {
+        /**
+         * 행 락(SKIP LOCKED) 조회 후 Java에서 잔액을 계산해 반영합니다. (기본)
+         */
+        ROW_LOCK,
+
+        /**
+         * 락 조회 없이 단일 조건부 UPDATE({@code balance = balance + ?})로 반영합니다.
+         */
+        ATOMIC_INCREMENT,
+
+        /**
+         * 같은 계좌로 짧은 시간 안에 들어온 입금을 모아 한 번에 반영합니다.
+         */
+        COALESCED,
+
+        /**
+         * 계좌별 단일 스레드(mailbox)에서 순서대로 반영합니다. (같은 계좌끼리 락 경쟁/재시도 없음)
+         */
+        MAILBOX
+    }
+
+    /**
+     * 락 경합 재시도의 트랜잭션 경계입니다.
+     */
+    public enum RetryBoundary {
+        /**
+         * 입금 전체를 한 트랜잭션으로 묶고 그 안에서 재시도합니다. (대기 중에도 커넥션 유지)
+         */
+        TRANSACTION,
+
+        /**
+         * 시도마다 짧은 트랜잭션을 열고, 실패하면 롤백 후 커넥션을 반납한 상태로 대기합니다.
+         */
+        ATTEMPT
+    }
+
+    /**
+     * 입금 합치기 설정입니다.
+     */
+    @Data
+    public static class Coalescing {
+
+        /** 첫 입금 이후 같은 계좌 입금을 모으는 시간 (밀리초) */
+        private long windowMs = 5;
+
+        /** 한 번에 반영할 최대 입금 건수 (도달 시 즉시 반영) */
+        private int maxBatchSize = 64;
+
+        /** 반영 작업 스레드 수 */
+        private int flushThreads = 4;
+
+        /** 호출자가 반영을 기다리는 최대 시간 (밀리초, 초과 시 실패. 반영 트랜잭션 시간보다 길게 설정) */
+        private long maxWaitMs = 30000;
+    }
+
+    /**
+     * 계좌별 단일 작성자 설정입니다.
+     */
+    @Data
+    public static class Mailbox {
+
+        /** 동시에 처리하는 계좌 수 (동시에 사용하는 커넥션 수의 상한) */
+        private int maxActiveAccounts = 8;
+
+        /** 계좌당 대기열 크기 (가득 차면 바로 거절) */
+        private int queueCapacity = 1000;
+
+        /** 한 계좌를 연속으로 처리하는 최대 건수 (이후 다른 계좌에 자리를 양보) */
+        private int drainBatchSize = 64;
+    }
+
+    /**
+     * 일괄 입금 설정입니다.
+     */
+    @Data
+    public static class Batch {
+
+        /** 요청에 지정하지 않았을 때의 부분 실패 처리 방식 */
+        private BatchFailureMode failureMode = BatchFailureMode.PER_ITEM;
+
+        /** JDBC 배치를 전송(flush)하는 단위 건수 */
+        private int chunkSize = 1000;
+    }
+
+    /**
+     * NDJSON 스트림 입금 설정입니다.
+     */
+    @Data
+    public static class Stream {
+
+        /** 한 번에 읽어 처리하는 줄 수 (메모리 상한) */
+        private int chunkSize = 500;
+
+        /** 한 줄의 최대 길이 (문자 수, 초과한 줄은 실패로 기록) */
+        private int maxLineLength = 65536;
+    }
+
+    /**
+     * 계좌별 회로 차단기 설정입니다.
+     */
+    @Data
+    public static class CircuitBreaker {
+
+        /** 회로 차단기 사용 여부 */
+        private boolean enabled = true;
+
+        /** 회로를 여는 연속 락 경합 실패 횟수 */
+        private int failureThreshold = 5;
+
+        /** 회로를 연 뒤 시험 요청을 통과시키기까지의 시간 (밀리초) */
+        private long openDurationMs = 5000;
+
+        /** 실패 이력을 추적하는 최대 계좌 수 */
+        private int maxTrackedAccounts = 10000;
+    }
+}
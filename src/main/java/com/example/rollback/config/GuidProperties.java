@@ -0,0 +1,68 @@
+package com.example.rollback.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * GUID 발급 설정입니다. ({@code banking.guid.*})
+ */
+@Data
+@ConfigurationProperties(prefix = "banking.guid")
+public class GuidProperties {
+
+    /** 시퀀스 발급 방식 */
+    private Mode mode = Mode.SHARED;
+
+    /** THREAD_BLOCK 방식에서 스레드가 한 번에 예약하는 시퀀스 수 */
+    private int blockSize = 256;
+
+    /** 거래 GUID 저장 방식 (TransactionMapper.xml의 {@code guidStorage}로 전달) */
+    private Storage storage = Storage.STRING;
+
+    /** 노드 식별자 임대 설정 */
+    private NodeLease nodeLease = new NodeLease();
+
+    /**
+     * GUID 노드 식별자 임대 설정입니다. ({@code banking.guid.node-lease.*})
+     * 인스턴스마다 DB에서 (노드 번호, 세대)를 임대해 GUID의 노드 식별자 11자리로 사용합니다.
+     */
+    @Data
+    public static class NodeLease {
+        /** 임대 사용 여부 (false면 호스트명과 UUID로 만든 무작위 식별자 사용) */
+        private boolean enabled = true;
+
+        /** 임대 유지 시간 (ms, 이 시간 동안 갱신이 없으면 다른 인스턴스가 노드 번호를 넘겨받을 수 있음) */
+        private long ttlMs = 30000;
+
+        /** 임대 갱신 주기 (ms, 유지 시간보다 짧아야 함) */
+        private long heartbeatIntervalMs = 10000;
+
+        /** 최대 노드 수 (노드 번호 Base26 4자리: 26^4) */
+        private int maxNodes = 26 * 26 * 26 * 26;
+    }
+
+    /**
+     * 거래 GUID 저장 방식입니다.
+     */
+    public enum Storage {
+        /** guid 컬럼(VARCHAR)에 30자리 문자열로 저장 */
+        STRING,
+
+        /** guid_bin 컬럼(BINARY(16))에 시간순 16바이트로 저장 (조회 시 문자열로 변환) */
+        BINARY
+    }
+
+    /**
+     * 시퀀스 발급 방식입니다.
+     */
+    public enum Mode {
+        /** 발급마다 공유 카운터를 CAS로 갱신 (노드 전체에서 GUID 순서 = 발급 순서) */
+        SHARED,
+
+        /**
+         * 플랫폼 스레드마다 시퀀스 블록을 예약해 두고 동기화 없이 발급 (블록을 새로 받을 때만 공유 카운터 갱신)
+         * GUID는 스레드 안에서만 증가하며, 가상 스레드는 SHARED 방식으로 발급합니다.
+         */
+        THREAD_BLOCK
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.rollback.config;
+
+import com.example.rollback.lock.LockPolicyType;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 계좌 락 정책 설정입니다. ({@code banking.lock.*})
+ */
+@Data
+@ConfigurationProperties(prefix = "banking.lock")
+public class LockProperties {
+
+    /** 작업별 설정이 없을 때 사용하는 정책 */
+    private LockPolicyType defaultPolicy = LockPolicyType.SKIP_LOCKED;
+
+    /** 작업 이름별 정책 (예: deposit: NOWAIT) */
+    private Map<String, LockPolicyType> policies = new HashMap<>();
+
+    /** WAIT 정책의 락 대기 시간 (밀리초) */
+    private long waitTimeoutMs = 1000;
+}
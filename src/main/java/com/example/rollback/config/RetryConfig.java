@@ -1,6 +1,7 @@
 package com.example.rollback.config;
 
 import com.example.rollback.retry.RetryStrategy;
+import com.example.rollback.retry.strategy.AdaptiveRetryStrategy;
 import com.example.rollback.retry.strategy.RandomBackoffRetryStrategy;
 import com.example.rollback.retry.strategy.RetryCondition;
 import org.springframework.context.annotation.Bean;
@@ -13,11 +14,17 @@ import org.springframework.context.annotation.Configuration;
 public class RetryConfig {
 
     /**
-     * 랜덤 백오프 기반 재시도 전략을 생성합니다.
+     * 설정({@code banking.retry.strategy})에 따라 재시도 전략을 생성합니다.
      */
     @Bean
-    public RetryStrategy retryStrategy(RetryCondition retryCondition) {
+    public RetryStrategy retryStrategy(RetryCondition retryCondition, RetryProperties retryProperties) {
+        if (retryProperties.getStrategy() == RetryProperties.Strategy.ADAPTIVE) {
+            return new AdaptiveRetryStrategy(retryProperties.getAdaptive(), retryCondition);
+        }
+
         // 기본값: 10회, 100ms+지터(<=200ms), 최대 2s
-        return new RandomBackoffRetryStrategy(10, 100, 200, 2000, retryCondition);
+        RetryProperties.RandomBackoff settings = retryProperties.getRandomBackoff();
+        return new RandomBackoffRetryStrategy(settings.getMaxRetries(), settings.getBaseWaitMs(),
+                settings.getMaxJitterMs(), settings.getMaxWaitMs(), retryCondition);
     }
 }
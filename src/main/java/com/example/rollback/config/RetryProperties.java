@@ -0,0 +1,130 @@
+package com.example.rollback.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 락 경합 재시도 설정입니다. ({@code banking.retry.*})
+ */
+@Data
+@ConfigurationProperties(prefix = "banking.retry")
+public class RetryProperties {
+
+    /** 재시도 전략 */
+    private Strategy strategy = Strategy.RANDOM_BACKOFF;
+
+    /** 랜덤 백오프 설정 */
+    private RandomBackoff randomBackoff = new RandomBackoff();
+
+    /** 적응형(AIMD) 설정 */
+    private Adaptive adaptive = new Adaptive();
+
+    /** 노드 전체 재시도 예산 설정 */
+    private Budget budget = new Budget();
+
+    /** 재시도 대상 예외 판단 설정 */
+    private Condition condition = new Condition();
+
+    /** 재시도/경합 지표 설정 */
+    private Metrics metrics = new Metrics();
+
+    /**
+     * 재시도 전략 종류입니다.
+     */
+    public enum Strategy {
+        /** 고정 공식(기본 + 시도 * 50 + 지터) 백오프 (기본) */
+        RANDOM_BACKOFF,
+
+        /** 경합 키별 성공/실패에 따라 대기 시간과 시도 횟수를 조정 */
+        ADAPTIVE
+    }
+
+    /**
+     * 랜덤 백오프 설정입니다.
+     */
+    @Data
+    public static class RandomBackoff {
+
+        /** 최대 시도 횟수 */
+        private int maxRetries = 10;
+
+        /** 기본 대기 시간 (밀리초) */
+        private long baseWaitMs = 100;
+
+        /** 최대 랜덤 지터 (밀리초) */
+        private long maxJitterMs = 200;
+
+        /** 최대 대기 시간 (밀리초) */
+        private long maxWaitMs = 2000;
+    }
+
+    /**
+     * 적응형(AIMD) 재시도 설정입니다.
+     */
+    @Data
+    public static class Adaptive {
+
+        /** 경합 없는 키의 기본 대기 시간 (밀리초) */
+        private long minWaitMs = 5;
+
+        /** 최대 대기 시간 (밀리초) */
+        private long maxWaitMs = 2000;
+
+        /** 성공 시 기본 대기 시간 감소량 (밀리초) */
+        private long decreaseStepMs = 10;
+
+        /** 경합이 심한 키의 최소 시도 횟수 */
+        private int minAttempts = 2;
+
+        /** 최대 시도 횟수 */
+        private int maxAttempts = 10;
+
+        /** 상태를 추적하는 최대 키 수 */
+        private int maxTrackedKeys = 10000;
+    }
+
+    /**
+     * 노드 전체 재시도 예산(토큰 버킷) 설정입니다.
+     */
+    @Data
+    public static class Budget {
+
+        /** 예산 사용 여부 (부하 특성에 맞게 조정한 뒤 켤 것) */
+        private boolean enabled = false;
+
+        /** 최대 토큰 수 (재시도 1회 = 토큰 1개) */
+        private double maxTokens = 100;
+
+        /** 첫 시도 성공 1건당 채우는 토큰 수 */
+        private double refillRatio = 0.2;
+
+        /** 첫 시도 성공과 관계없이 초당 채우는 토큰 수 (과부하에서도 보장하는 최소 재시도 처리량) */
+        private double minRetriesPerSecond = 10;
+    }
+
+    /**
+     * 재시도 대상 예외 판단 설정입니다.
+     */
+    @Data
+    public static class Condition {
+
+        /** 기본 키워드 외에 락 충돌로 볼 메시지 키워드 (대소문자 무시) */
+        private List<String> extraKeywords = new ArrayList<>();
+    }
+
+    /**
+     * 재시도/경합 지표 설정입니다.
+     */
+    @Data
+    public static class Metrics {
+
+        /** 계좌(경합 키)별 지표를 추적하는 최대 키 수 (구간당) */
+        private int maxTrackedKeys = 10000;
+
+        /** 계좌(경합 키)별 지표 집계 구간 (밀리초, 직전 구간과 현재 구간만 유지) */
+        private long keyWindowMs = 60000;
+    }
+}
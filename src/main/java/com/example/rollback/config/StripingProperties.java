@@ -0,0 +1,18 @@
+package com.example.rollback.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 분할 잔액(stripe) 설정입니다. ({@code banking.striping.*})
+ */
+@Data
+@ConfigurationProperties(prefix = "banking.striping")
+public class StripingProperties {
+
+    /** 분할 잔액을 기본 잔액으로 합치는 주기 (밀리초) */
+    private long foldIntervalMs = 60000;
+
+    /** 계좌별 분할 수 캐시 유지 시간 (밀리초, 다른 인스턴스에서 분할을 켠 사실이 반영되는 최대 지연) */
+    private long cacheTtlMs = 30000;
+}
@@ -1,19 +1,31 @@
 package com.example.rollback.controller;
 
 import com.example.rollback.domain.Account;
+import com.example.rollback.domain.BatchDepositResult;
+import com.example.rollback.domain.BatchFailureMode;
 import com.example.rollback.domain.DepositRequest;
 import com.example.rollback.domain.NotificationLog;
 import com.example.rollback.domain.Transaction;
+import com.example.rollback.domain.TransferRequest;
+import com.example.rollback.retry.AccountCircuitBreaker;
+import com.example.rollback.retry.RetryMetrics;
 import com.example.rollback.service.AccountService;
+import com.example.rollback.service.BatchDepositService;
+import com.example.rollback.service.DepositStreamService;
+import com.example.rollback.service.StripedBalanceService;
+import com.example.rollback.service.TransferService;
 import com.example.rollback.repository.AccountRepository;
 import com.example.rollback.repository.NotificationLogRepository;
 import com.example.rollback.repository.TransactionRepository;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.MDC;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
@@ -27,9 +39,24 @@ import java.util.function.Consumer;
 @RequestMapping("/api/banking")
 public class BankingController {
 
+    /** 줄 단위 JSON 미디어 타입 */
+    private static final String NDJSON = "application/x-ndjson";
+
     /** 계좌 서비스 */
     private final AccountService accountService;
     
+    /** 일괄 입금 서비스 */
+    private final BatchDepositService batchDepositService;
+    
+    /** 스트림 입금 서비스 */
+    private final DepositStreamService depositStreamService;
+    
+    /** 분할 잔액 계좌 서비스 */
+    private final StripedBalanceService stripedBalanceService;
+    
+    /** 이체 서비스 */
+    private final TransferService transferService;
+    
     /** 계좌 조회용 리포지토리 */
     private final AccountRepository accountRepository;
     
@@ -38,6 +65,12 @@ public class BankingController {
     
     /** 알림 로그 조회용 리포지토리 */
     private final NotificationLogRepository notificationLogRepository;
+    
+    /** 계좌별 회로 차단기 */
+    private final AccountCircuitBreaker circuitBreaker;
+    
+    /** 재시도/경합 지표 */
+    private final RetryMetrics retryMetrics;
 
     /**
      * 입금을 처리합니다.
@@ -50,6 +83,49 @@ public class BankingController {
         return createSuccessResponse("입금이 성공적으로 처리되었습니다", "transaction", transaction);
     }
 
+    /**
+     * 계좌 간 이체를 처리합니다.
+     */
+    @PostMapping("/transfer")
+    public ResponseEntity<?> transfer(@Valid @RequestBody TransferRequest request) {
+        Transaction transaction = transferService.transfer(request);
+        log.info("이체 성공: {}", transaction.getGuid());
+
+        return createSuccessResponse("이체가 성공적으로 처리되었습니다", "transaction", transaction);
+    }
+
+    /**
+     * 입금 목록을 일괄 처리합니다. (JDBC 배치)
+     * 건별 결과를 반환하며, ALL_OR_NOTHING에서 실패가 있으면 전체를 반영하지 않습니다.
+     */
+    @PostMapping("/deposits/batch")
+    public ResponseEntity<?> depositBatch(@RequestBody List<DepositRequest> requests,
+            @RequestParam(required = false) BatchFailureMode failureMode) {
+        BatchDepositResult result = batchDepositService.depositBatch(requests, failureMode);
+        log.info("일괄 입금 결과 - 성공: {}, 실패: {}", result.getSucceeded(), result.getFailed());
+
+        if (result.isRolledBack()) {
+            return ResponseEntity.unprocessableEntity().body(Map.of(
+                    "success", false,
+                    "guid", MDC.get("guid"),
+                    "message", "실패한 건이 있어 일괄 입금 전체가 취소되었습니다",
+                    "batch", result));
+        }
+        return createSuccessResponse("일괄 입금이 처리되었습니다", "batch", result);
+    }
+
+    /**
+     * NDJSON 입금 스트림을 처리합니다.
+     * 요청 본문을 줄 단위로 읽어 청크별로 반영하고, 입력 한 줄당 결과 한 줄을 업로드 중에도 바로 내보냅니다.
+     */
+    @PostMapping(value = "/deposits/stream", consumes = NDJSON, produces = NDJSON)
+    public void depositStream(HttpServletRequest request, HttpServletResponse response,
+            @RequestParam(required = false) BatchFailureMode failureMode) throws IOException {
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding("UTF-8");
+        depositStreamService.ingest(request.getInputStream(), response.getOutputStream(), failureMode);
+    }
+
     /**
      * 계좌 목록을 조회합니다.
      */
@@ -101,6 +177,24 @@ public class BankingController {
         return notificationLogRepository.findAll();
     }
 
+    /**
+     * 추적 중인 계좌별 회로 차단기 상태를 조회합니다. (목록에 없는 계좌는 CLOSED)
+     */
+    @GetMapping("/circuit-breakers")
+    public List<AccountCircuitBreaker.CircuitStatus> getCircuitBreakers() {
+        log.info("계좌 회로 차단기 상태 조회");
+        return circuitBreaker.getStatuses();
+    }
+
+    /**
+     * 작업별 재시도/경합 지표와 경합이 많은 계좌 상위 {@code top}개를 조회합니다.
+     */
+    @GetMapping("/retry-metrics")
+    public RetryMetrics.Snapshot getRetryMetrics(@RequestParam(defaultValue = "20") int top) {
+        log.info("재시도 지표 조회 - 상위 {}개", top);
+        return retryMetrics.snapshot(top);
+    }
+
     /**
      * 계좌를 동결합니다.
      */
@@ -117,6 +211,30 @@ public class BankingController {
         return changeAccountStatus(id, Account::activate, "활성화", "계좌가 활성화되었습니다");
     }
 
+    /**
+     * 계좌에 분할 잔액(stripe)을 설정합니다. (입금 경합이 극심한 계좌용)
+     */
+    @PostMapping("/accounts/{id}/stripes")
+    public ResponseEntity<?> enableStriping(@PathVariable Long id, @RequestParam int count) {
+        Account account = stripedBalanceService.enableStriping(id, count);
+        log.info("계좌 분할 잔액 설정 성공: {}, 분할 수: {}", account.getAccountNumber(), count);
+        return createSuccessResponse("계좌 분할 잔액이 설정되었습니다", "account", account);
+    }
+
+    /**
+     * 분할 잔액을 즉시 기본 잔액으로 합칩니다.
+     */
+    @PostMapping("/accounts/{id}/stripes/fold")
+    public ResponseEntity<?> foldStripes(@PathVariable Long id) {
+        stripedBalanceService.fold(id);
+        Account account = accountRepository.findById(id);
+        if (account == null) {
+            log.warn("계좌를 찾을 수 없음: {}", id);
+            return ResponseEntity.notFound().build();
+        }
+        return createSuccessResponse("분할 잔액을 합쳤습니다", "account", account);
+    }
+
     /**
      * 성공 응답 바디를 생성합니다.
      */
@@ -134,14 +252,12 @@ public class BankingController {
      */
     private ResponseEntity<?> changeAccountStatus(Long id, Consumer<Account> accountAction, String actionLog,
             String successMessage) {
-        Account account = accountRepository.findById(id);
+        Account account = accountService.changeStatus(id, accountAction);
         if (account == null) {
             log.warn("계좌를 찾을 수 없음: {}", id);
             return ResponseEntity.notFound().build();
         }
         
-        accountAction.accept(account);
-        accountRepository.update(account);
         log.info("계좌 {} 성공: {}", actionLog, account.getAccountNumber());
         
         return createSuccessResponse(successMessage, "account", account);
@@ -44,6 +44,12 @@ public class Account {
     /** 계좌주 성명 */
     private String accountHolderName;
 
+    /** 분할 잔액(stripe) 수 (0이면 미사용) */
+    private Integer stripeCount;
+
+    /** 낙관적 락 버전 (계좌 행이 변경될 때마다 1 증가) */
+    private Long version;
+
     /**
      * 계좌를 생성합니다.
      */
@@ -122,6 +128,13 @@ public class Account {
     public boolean isActive() {
         return AccountStatus.ACTIVE.equals(this.status);
     }
+
+    /**
+     * 분할 잔액(stripe) 계좌인지 확인합니다.
+     */
+    public boolean isStriped() {
+        return stripeCount != null && stripeCount > 0;
+    }
     
     /**
      * 계좌번호를 반환합니다
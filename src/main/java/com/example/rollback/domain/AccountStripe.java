@@ -0,0 +1,25 @@
+package com.example.rollback.domain;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 계좌 분할 잔액(stripe)입니다.
+ * 경합이 극심한 계좌의 입금을 여러 행으로 분산하며, 계좌 잔액은 기본 잔액과 분할 잔액 합계의 합입니다.
+ */
+@Data
+public class AccountStripe {
+    /** 계좌 ID */
+    private Long accountId;
+
+    /** 분할 번호 (0부터) */
+    private Integer stripeNo;
+
+    /** 분할 잔액 */
+    private BigDecimal balance;
+
+    /** 최종 수정 일시 */
+    private LocalDateTime updatedAt;
+}
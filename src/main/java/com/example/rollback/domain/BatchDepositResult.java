@@ -0,0 +1,44 @@
+package com.example.rollback.domain;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 일괄 입금 처리 결과입니다.
+ */
+@Data
+public class BatchDepositResult {
+
+    /** 적용된 부분 실패 처리 방식 */
+    private BatchFailureMode failureMode;
+
+    /** 요청 건수 */
+    private int total;
+
+    /** 반영된 건수 */
+    private int succeeded;
+
+    /** 실패한 건수 */
+    private int failed;
+
+    /** 전체 롤백 여부 (ALL_OR_NOTHING에서 실패가 있었던 경우) */
+    private boolean rolledBack;
+
+    /** 건별 결과 (요청 순서) */
+    private List<DepositItemResult> items;
+
+    /**
+     * 건별 결과로부터 요약을 생성합니다.
+     */
+    public static BatchDepositResult of(BatchFailureMode failureMode, List<DepositItemResult> items, boolean rolledBack) {
+        BatchDepositResult result = new BatchDepositResult();
+        result.failureMode = failureMode;
+        result.total = items.size();
+        result.succeeded = (int) items.stream().filter(DepositItemResult::isSuccess).count();
+        result.failed = result.total - result.succeeded;
+        result.rolledBack = rolledBack;
+        result.items = items;
+        return result;
+    }
+}
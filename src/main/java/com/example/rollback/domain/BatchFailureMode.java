@@ -0,0 +1,16 @@
+package com.example.rollback.domain;
+
+/**
+ * 일괄 입금의 부분 실패 처리 방식입니다.
+ */
+public enum BatchFailureMode {
+    /**
+     * 한 건이라도 실패하면 전체를 반영하지 않습니다.
+     */
+    ALL_OR_NOTHING,
+
+    /**
+     * 실패한 건만 제외하고 나머지는 반영합니다.
+     */
+    PER_ITEM
+}
@@ -0,0 +1,48 @@
+package com.example.rollback.domain;
+
+import lombok.Data;
+
+/**
+ * 일괄 입금의 건별 처리 결과입니다.
+ */
+@Data
+public class DepositItemResult {
+
+    /** 요청 목록에서의 순번 (0부터) */
+    private long index;
+
+    /** 반영 여부 */
+    private boolean success;
+
+    /** 거래 ID (성공 시) */
+    private Long transactionId;
+
+    /** 거래 GUID (성공 시) */
+    private String transactionGuid;
+
+    /** 실패 사유 (실패 시) */
+    private String message;
+
+    /**
+     * 성공 결과를 생성합니다.
+     */
+    public static DepositItemResult succeeded(long index, Transaction transaction) {
+        DepositItemResult result = new DepositItemResult();
+        result.index = index;
+        result.success = true;
+        result.transactionId = transaction.getId();
+        result.transactionGuid = transaction.getGuid();
+        return result;
+    }
+
+    /**
+     * 실패 결과를 생성합니다.
+     */
+    public static DepositItemResult failed(long index, String message) {
+        DepositItemResult result = new DepositItemResult();
+        result.index = index;
+        result.success = false;
+        result.message = message;
+        return result;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.rollback.domain;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * GUID 노드 식별자 임대입니다.
+ * (노드 번호, 세대)는 임대할 때마다 새로 정해지므로 인스턴스 간에 겹치지 않습니다.
+ */
+@Data
+public class GuidNodeLease {
+    /** 노드 번호 (0부터) */
+    private Integer nodeId;
+
+    /** 임대 세대 */
+    private Long generation;
+
+    /** 임대한 인스턴스 */
+    private String owner;
+
+    /** 임대 만료 일시 */
+    private LocalDateTime expiresAt;
+}
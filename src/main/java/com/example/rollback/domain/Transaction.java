@@ -74,6 +74,19 @@ public class Transaction {
         return transaction;
     }
 
+    /**
+     * 계좌 간 이체 거래를 생성합니다.
+     */
+    public static Transaction createTransfer(String guid, Long fromAccountId, Long toAccountId, Long customerId,
+                                             java.math.BigDecimal amount, String currency, String description) {
+        Transaction transaction = createBaseTransaction(guid, customerId, amount, currency, description, TransactionType.TRANSFER);
+        transaction.fromAccountId = fromAccountId;
+        transaction.toAccountId = toAccountId;
+        
+        log.info("이체 거래 생성 - GUID: {}, 출금계좌: {}, 입금계좌: {}, 금액: {}", guid, fromAccountId, toAccountId, amount);
+        return transaction;
+    }
+
     /**
      * 거래를 완료 처리합니다.
      */
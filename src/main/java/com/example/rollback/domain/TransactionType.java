@@ -14,6 +14,11 @@ public enum TransactionType {
      */
     WITHDRAWAL,
 
+    /**
+     * 계좌 간 이체
+     */
+    TRANSFER,
+
     /**
      * 수수료
      */
@@ -0,0 +1,51 @@
+package com.example.rollback.domain;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigDecimal;
+
+/**
+ * 계좌 간 이체 요청 DTO입니다.
+ */
+@Slf4j
+@Data
+public class TransferRequest {
+
+    /** 출금 계좌 ID (필수) */
+    @NotNull(message = "출금 계좌 ID는 필수입니다")
+    private Long fromAccountId;
+
+    /** 입금 계좌 ID (필수) */
+    @NotNull(message = "입금 계좌 ID는 필수입니다")
+    private Long toAccountId;
+
+    /** 거래를 요청한 고객 ID (필수, 출금 계좌 소유자) */
+    @NotNull(message = "고객 ID는 필수입니다")
+    private Long customerId;
+
+    /** 이체 금액 (필수, 0보다 커야 함) */
+    @NotNull(message = "금액은 필수입니다")
+    @Positive(message = "금액은 0보다 커야 합니다")
+    private BigDecimal amount;
+
+    /** 통화 코드 (필수) */
+    @NotBlank(message = "통화는 필수입니다")
+    private String currency;
+
+    /** 거래 설명 또는 메모 (선택사항) */
+    private String description;
+
+    /**
+     * 이체 거래(Transaction)로 변환합니다.
+     */
+    public Transaction toTransaction(String guid) {
+        log.debug("TransferRequest to Transaction - from: {}, to: {}, amount: {}, currency: {}",
+            fromAccountId, toAccountId, amount, currency);
+
+        return Transaction.createTransfer(guid, fromAccountId, toAccountId, customerId, amount, currency, description);
+    }
+}
@@ -1,36 +1,34 @@
 package com.example.rollback.event;
 
 import com.example.rollback.util.ContextHolder;
-import lombok.Data;
+import com.example.rollback.util.CtxMap;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.Map;
-
 /**
  * 거래 실패(롤백) 이벤트입니다.
  */
 @Slf4j
-@Data
 public class TransactionFailed {
     
     /** 요청 GUID */
-    private String guid;
+    private final String guid;
     
-    /** 실패 당시 컨텍스트 */
-    private Map<String, Object> context;
+    /** 실패 당시 컨텍스트의 읽기 전용 스냅샷 (이후 원본 변경의 영향을 받지 않음) */
+    private final CtxMap context;
     
     /** 거래 ID */
-    private Long transactionId;
+    private final Long transactionId;
     
     /** 실패 사유 */
-    private String reason;
+    private final String reason;
 
     /**
      * 이벤트를 생성합니다.
      */
-    public TransactionFailed(Map<String, Object> context, Long transactionId, String reason) {
+    public TransactionFailed(CtxMap context, Long transactionId, String reason) {
         this.guid = ContextHolder.getCurrentGuid();
-        this.context = context;
+        // 여러 리스너 스레드가 함께 읽으므로 고정된 스냅샷으로 보관
+        this.context = context != null ? context.frozen() : null;
         this.transactionId = transactionId;
         this.reason = reason;
         
@@ -51,9 +49,9 @@ public class TransactionFailed {
     }
     
     /**
-     * 컨텍스트를 반환합니다.
+     * 컨텍스트의 읽기 전용 스냅샷을 반환합니다. 값을 바꾸려면 {@link CtxMap#copy()}한 복사본을 사용합니다.
      */
-    public Map<String, Object> getContext() {
+    public CtxMap getContext() {
         return context;
     }
     
@@ -11,8 +11,6 @@ import org.springframework.stereotype.Component;
 import org.springframework.transaction.event.TransactionPhase;
 import org.springframework.transaction.event.TransactionalEventListener;
 
-import java.util.Map;
-
 /**
  * 거래 실패(롤백) 이벤트를 후처리합니다.
  */
@@ -26,16 +24,18 @@ public class TransactionFailureHandler {
 
     /**
      * 롤백 이후에 비동기로 실행됩니다.
+     * 트랜잭션 밖에서 발행된 실패 이벤트(예: 입금 합치기 대기 중 실패)는 즉시 처리합니다.
      */
-    @TransactionalEventListener(phase = TransactionPhase.AFTER_ROLLBACK)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_ROLLBACK, fallbackExecution = true)
     @Async
     public void handle(TransactionFailed event) {
         MDC.put("guid", event.getGuid());
         try {
             // 컨텍스트 복원
-            Map<String, Object> context = event.getContext();
+            CtxMap context = event.getContext();
             if (context != null && !context.isEmpty()) {
-                ContextHolder.setContext(new CtxMap(context));
+                // 이벤트의 스냅샷은 공유하고, 이 스레드의 쓰기는 별도 복사본에 반영
+                ContextHolder.setContext(context.copy());
             } else {
                 ContextHolder.initializeContext(event.getGuid());
             }
@@ -3,6 +3,7 @@ package com.example.rollback.exception;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.MDC;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -11,6 +12,9 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import com.example.rollback.domain.NotificationLog;
 import com.example.rollback.repository.NotificationLogRepository;
+import com.example.rollback.retry.CircuitOpenException;
+import com.example.rollback.retry.RetryBudgetExhaustedException;
+import com.example.rollback.service.MailboxFullException;
 import java.util.Map;
 import java.util.stream.Collectors;
 
@@ -73,6 +77,23 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(body, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
+    /**
+     * 락 경합으로 일시적으로 처리할 수 없는 요청을 처리합니다. (회로 차단, 재시도 예산 소진, mailbox 대기열 초과)
+     */
+    @ExceptionHandler({ CircuitOpenException.class, RetryBudgetExhaustedException.class, MailboxFullException.class })
+    public ResponseEntity<Map<String, Object>> handleUnavailableExceptions(RuntimeException ex) {
+        String guid = MDC.get("guid");
+        String message = "일시적으로 요청을 처리할 수 없습니다: " + ex.getMessage();
+
+        log.warn("[GUID: {}] 일시적 처리 불가: {}", guid, message);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE);
+        if (ex instanceof CircuitOpenException open && open.getRetryAfterMs() > 0) {
+            response.header(HttpHeaders.RETRY_AFTER, String.valueOf((open.getRetryAfterMs() + 999) / 1000));
+        }
+        return response.body(errorBody(guid, message));
+    }
+
     /**
      * 입력/상태 오류를 처리합니다.
      */
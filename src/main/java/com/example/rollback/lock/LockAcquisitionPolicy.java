@@ -0,0 +1,45 @@
+package com.example.rollback.lock;
+
+import com.example.rollback.domain.Account;
+import com.example.rollback.retry.RetryOutcome;
+
+/**
+ * 계좌 변경 전 계좌 행을 확보하는 방식(락 정책)을 정의합니다.
+ * 호출자 트랜잭션 안에서 실행되며, 재시도 가능한 실패는 {@code RetryCondition}이 인식하는 예외로 던집니다.
+ */
+public interface LockAcquisitionPolicy {
+
+    /**
+     * 정책 종류를 반환합니다.
+     */
+    LockPolicyType type();
+
+    /**
+     * 변경할 계좌를 조회합니다. (잔액은 기본 잔액만)
+     *
+     * @throws IllegalArgumentException 계좌가 없을 때
+     */
+    Account acquire(Long accountId);
+
+    /**
+     * 변경할 계좌를 조회합니다. 예상된 경합은 예외 대신 {@link RetryOutcome#busy}로 알립니다.
+     * 기본 구현은 {@link #acquire} 결과를 그대로 성공으로 감쌉니다.
+     */
+    default RetryOutcome<Account> tryAcquire(Long accountId) {
+        return RetryOutcome.success(acquire(accountId));
+    }
+
+    /**
+     * 변경된 잔액을 반영합니다.
+     *
+     * @param account {@link #acquire}로 얻어 잔액을 변경한 계좌
+     */
+    void writeBalance(Account account);
+
+    /**
+     * 변경된 상태를 반영합니다.
+     *
+     * @param account {@link #acquire}로 얻어 상태를 변경한 계좌
+     */
+    void writeStatus(Account account);
+}
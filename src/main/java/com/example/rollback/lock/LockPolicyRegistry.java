@@ -0,0 +1,48 @@
+package com.example.rollback.lock;
+
+import com.example.rollback.config.LockProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 작업(operation)별로 설정된 락 정책을 찾아 줍니다. ({@code banking.lock.policies.<operation>})
+ */
+@Slf4j
+@Component
+public class LockPolicyRegistry {
+
+    /** 정책 종류별 구현 */
+    private final Map<LockPolicyType, LockAcquisitionPolicy> policies = new EnumMap<>(LockPolicyType.class);
+
+    /** 락 정책 설정 */
+    private final LockProperties lockProperties;
+
+    /**
+     * 생성자입니다.
+     */
+    public LockPolicyRegistry(List<LockAcquisitionPolicy> implementations, LockProperties lockProperties) {
+        for (LockAcquisitionPolicy policy : implementations) {
+            policies.put(policy.type(), policy);
+        }
+        this.lockProperties = lockProperties;
+        log.info("락 정책 설정 - 기본: {}, 작업별: {}", lockProperties.getDefaultPolicy(), lockProperties.getPolicies());
+    }
+
+    /**
+     * 작업에 설정된 락 정책을 반환합니다. (설정이 없으면 기본 정책)
+     *
+     * @param operation 작업 이름 (예: deposit)
+     */
+    public LockAcquisitionPolicy forOperation(String operation) {
+        LockPolicyType type = lockProperties.getPolicies().getOrDefault(operation, lockProperties.getDefaultPolicy());
+        LockAcquisitionPolicy policy = policies.get(type);
+        if (policy == null) {
+            throw new IllegalStateException("등록되지 않은 락 정책입니다: " + type);
+        }
+        return policy;
+    }
+}
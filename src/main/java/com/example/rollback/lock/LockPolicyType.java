@@ -0,0 +1,19 @@
+package com.example.rollback.lock;
+
+/**
+ * 락 정책 종류입니다.
+ */
+public enum LockPolicyType {
+
+    /** {@code FOR UPDATE SKIP LOCKED} 조회, 잠겨 있으면 재시도 (기본) */
+    SKIP_LOCKED,
+
+    /** {@code FOR UPDATE NOWAIT} 조회, 잠겨 있으면 즉시 락 예외 후 재시도 */
+    NOWAIT,
+
+    /** {@code FOR UPDATE WAIT n} 조회, 설정한 시간까지 락을 기다림 */
+    WAIT,
+
+    /** 락 없이 조회하고 버전 조건부 UPDATE(compare-and-set)로 충돌을 감지해 재시도 */
+    OPTIMISTIC
+}
@@ -0,0 +1,43 @@
+package com.example.rollback.lock.policy;
+
+import com.example.rollback.config.LockProperties;
+import com.example.rollback.domain.Account;
+import com.example.rollback.lock.LockPolicyType;
+import com.example.rollback.repository.AccountRepository;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+/**
+ * {@code FOR UPDATE WAIT n}으로 계좌를 잠급니다.
+ * 설정한 시간({@code banking.lock.wait-timeout-ms})까지 DB에서 락을 기다리고, 넘기면 락 타임아웃 예외로 재시도합니다.
+ */
+@Component
+public class BlockingWaitPolicy extends PessimisticLockPolicy {
+
+    /** 락 정책 설정 */
+    private final LockProperties lockProperties;
+
+    /**
+     * 생성자입니다.
+     */
+    public BlockingWaitPolicy(AccountRepository accountRepository, LockProperties lockProperties) {
+        super(accountRepository);
+        this.lockProperties = lockProperties;
+    }
+
+    @Override
+    public LockPolicyType type() {
+        return LockPolicyType.WAIT;
+    }
+
+    @Override
+    public Account acquire(Long accountId) {
+        BigDecimal waitSeconds = BigDecimal.valueOf(lockProperties.getWaitTimeoutMs(), 3);
+        Account locked = accountRepository.findByIdForUpdateWait(accountId, waitSeconds);
+        if (locked == null) {
+            throw new IllegalArgumentException("계좌를 찾을 수 없습니다: " + accountId);
+        }
+        return locked;
+    }
+}
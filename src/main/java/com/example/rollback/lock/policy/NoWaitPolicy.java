@@ -0,0 +1,35 @@
+package com.example.rollback.lock.policy;
+
+import com.example.rollback.domain.Account;
+import com.example.rollback.lock.LockPolicyType;
+import com.example.rollback.repository.AccountRepository;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code FOR UPDATE NOWAIT}로 계좌를 잠급니다.
+ * 잠겨 있으면 DB가 즉시 락 예외를 던지므로 존재 여부 확인용 추가 조회가 필요 없습니다.
+ */
+@Component
+public class NoWaitPolicy extends PessimisticLockPolicy {
+
+    /**
+     * 생성자입니다.
+     */
+    public NoWaitPolicy(AccountRepository accountRepository) {
+        super(accountRepository);
+    }
+
+    @Override
+    public LockPolicyType type() {
+        return LockPolicyType.NOWAIT;
+    }
+
+    @Override
+    public Account acquire(Long accountId) {
+        Account locked = accountRepository.findByIdForUpdateNoWait(accountId);
+        if (locked == null) {
+            throw new IllegalArgumentException("계좌를 찾을 수 없습니다: " + accountId);
+        }
+        return locked;
+    }
+}
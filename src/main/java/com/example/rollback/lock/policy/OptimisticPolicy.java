@@ -0,0 +1,56 @@
+package com.example.rollback.lock.policy;
+
+import com.example.rollback.domain.Account;
+import com.example.rollback.lock.LockAcquisitionPolicy;
+import com.example.rollback.lock.LockPolicyType;
+import com.example.rollback.repository.AccountRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+/**
+ * 락 없이 계좌를 조회하고, 조회 시점 버전({@code accounts.version})이 그대로일 때만 UPDATE합니다. (compare-and-set)
+ * 그 사이 다른 변경이 있으면 {@link OptimisticLockingFailureException}을 던져 조회부터 다시 시도합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class OptimisticPolicy implements LockAcquisitionPolicy {
+
+    /** 계좌 저장소 */
+    private final AccountRepository accountRepository;
+
+    @Override
+    public LockPolicyType type() {
+        return LockPolicyType.OPTIMISTIC;
+    }
+
+    @Override
+    public Account acquire(Long accountId) {
+        Account account = accountRepository.findBaseById(accountId);
+        if (account == null) {
+            throw new IllegalArgumentException("계좌를 찾을 수 없습니다: " + accountId);
+        }
+        return account;
+    }
+
+    @Override
+    public void writeBalance(Account account) {
+        if (accountRepository.updateBalanceIfVersion(account) == 0) {
+            throw conflict(account);
+        }
+        account.setVersion(account.getVersion() + 1);
+    }
+
+    @Override
+    public void writeStatus(Account account) {
+        if (accountRepository.updateStatusIfVersion(account.getId(), account.getStatus(), account.getVersion()) == 0) {
+            throw conflict(account);
+        }
+        account.setVersion(account.getVersion() + 1);
+    }
+
+    private OptimisticLockingFailureException conflict(Account account) {
+        return new OptimisticLockingFailureException(
+                "계좌 버전 충돌 - 계좌ID: " + account.getId() + ", 버전: " + account.getVersion());
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.rollback.lock.policy;
+
+import com.example.rollback.domain.Account;
+import com.example.rollback.lock.LockAcquisitionPolicy;
+import com.example.rollback.repository.AccountRepository;
+
+/**
+ * 행 락을 잡는 정책의 공통 반영 로직입니다.
+ * {@link #acquire}에서 락을 잡았으므로 조건 없이 UPDATE합니다.
+ */
+abstract class PessimisticLockPolicy implements LockAcquisitionPolicy {
+
+    /** 계좌 저장소 */
+    protected final AccountRepository accountRepository;
+
+    /**
+     * 생성자입니다.
+     */
+    protected PessimisticLockPolicy(AccountRepository accountRepository) {
+        this.accountRepository = accountRepository;
+    }
+
+    @Override
+    public void writeBalance(Account account) {
+        accountRepository.updateBalance(account);
+    }
+
+    @Override
+    public void writeStatus(Account account) {
+        accountRepository.updateStatus(account.getId(), account.getStatus());
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.rollback.lock.policy;
+
+import com.example.rollback.domain.Account;
+import com.example.rollback.lock.LockPolicyType;
+import com.example.rollback.repository.AccountRepository;
+import com.example.rollback.retry.RetryOutcome;
+import com.example.rollback.retry.RetryableException;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code FOR UPDATE SKIP LOCKED}로 계좌를 잠급니다.
+ * 다른 트랜잭션이 잡고 있으면 기다리지 않고 경합({@link RetryOutcome#busy})으로 재시도 대기로 넘깁니다.
+ * ({@link #acquire}는 {@link RetryableException}을 던집니다)
+ */
+@Component
+public class SkipLockedPolicy extends PessimisticLockPolicy {
+
+    /**
+     * 생성자입니다.
+     */
+    public SkipLockedPolicy(AccountRepository accountRepository) {
+        super(accountRepository);
+    }
+
+    @Override
+    public LockPolicyType type() {
+        return LockPolicyType.SKIP_LOCKED;
+    }
+
+    @Override
+    public Account acquire(Long accountId) {
+        return tryAcquire(accountId).getOrThrow();
+    }
+
+    @Override
+    public RetryOutcome<Account> tryAcquire(Long accountId) {
+        Account locked = accountRepository.findByIdForUpdateSkipLocked(accountId);
+        if (locked != null) {
+            return RetryOutcome.success(locked);
+        }
+
+        // 행이 없어서인지 잠겨 있어서인지 구분
+        if (accountRepository.findById(accountId) == null) {
+            return RetryOutcome.fatal(new IllegalArgumentException("계좌를 찾을 수 없습니다: " + accountId));
+        }
+        return RetryOutcome.busy("account busy");
+    }
+}
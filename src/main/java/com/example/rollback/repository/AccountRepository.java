@@ -5,6 +5,7 @@ import com.example.rollback.domain.AccountStatus;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 /**
@@ -14,14 +15,31 @@ import java.util.List;
 public interface AccountRepository {
     
     /**
-     * 계좌를 조회합니다.
+     * 계좌를 조회합니다. (잔액은 분할 잔액 합계 포함)
      */
     Account findById(@Param("id") Long id);
 
     /**
-     * 계좌를 조회하면서 락을 획득합니다. (SKIP LOCKED)
+     * 계좌를 조회하면서 락을 획득합니다. (SKIP LOCKED, 잔액은 기본 잔액만)
      */
     Account findByIdForUpdateSkipLocked(@Param("id") Long id);
+
+    /**
+     * 계좌를 조회하면서 락을 획득합니다. (NOWAIT, 잠겨 있으면 락 예외)
+     */
+    Account findByIdForUpdateNoWait(@Param("id") Long id);
+
+    /**
+     * 계좌를 조회하면서 락을 획득합니다. (지정한 시간까지 대기, 넘기면 락 타임아웃 예외)
+     *
+     * @param waitSeconds 락 대기 시간 (초)
+     */
+    Account findByIdForUpdateWait(@Param("id") Long id, @Param("waitSeconds") BigDecimal waitSeconds);
+
+    /**
+     * 락 없이 계좌를 조회합니다. (잔액은 기본 잔액만)
+     */
+    Account findBaseById(@Param("id") Long id);
     
     /**
      * 계좌번호로 계좌를 조회합니다.
@@ -52,7 +70,43 @@ public interface AccountRepository {
      * @param account 잔액이 변경된 계좌 정보
      */
     void updateBalance(Account account);
+
+    /**
+     * 버전이 조회 시점 값과 같을 때만 잔액을 업데이트합니다. (버전 1 증가)
+     *
+     * @param account 잔액이 변경된 계좌 정보 (조회 시점 버전 포함)
+     * @return 변경된 행 수 (0이면 그 사이 다른 변경이 있었음)
+     */
+    int updateBalanceIfVersion(Account account);
+
+    /**
+     * 활성 계좌의 잔액을 DB에서 원자적으로 증가시키고 변경된 계좌를 반환합니다.
+     * (락 조회 없이 {@code balance = balance + amount} 단일 문장으로 처리)
+     *
+     * @param id 입금 계좌 ID
+     * @param amount 입금 금액
+     * @return 변경된 계좌 정보 (계좌가 없거나 활성 상태가 아니면 null)
+     */
+    Account incrementBalance(@Param("id") Long id, @Param("amount") BigDecimal amount);
     
+    /**
+     * 계좌의 분할 잔액(stripe) 수를 조회합니다.
+     *
+     * @param id 계좌 ID
+     * @return 분할 잔액 수 (계좌가 없으면 null)
+     */
+    Integer findStripeCount(@Param("id") Long id);
+
+    /**
+     * 분할 잔액을 사용하는 계좌 ID 목록을 조회합니다.
+     */
+    List<Long> findStripedAccountIds();
+
+    /**
+     * 계좌의 분할 잔액(stripe) 수를 변경합니다.
+     */
+    void updateStripeCount(@Param("id") Long id, @Param("stripeCount") int stripeCount);
+
     /**
      * 계좌 상태를 업데이트합니다.
      * 
@@ -60,6 +114,14 @@ public interface AccountRepository {
      * @param status 새로운 상태 (ACTIVE, FROZEN, CLOSED 등)
      */
     void updateStatus(@Param("id") Long id, @Param("status") AccountStatus status);
+
+    /**
+     * 버전이 조회 시점 값과 같을 때만 계좌 상태를 업데이트합니다. (버전 1 증가)
+     *
+     * @return 변경된 행 수 (0이면 그 사이 다른 변경이 있었음)
+     */
+    int updateStatusIfVersion(@Param("id") Long id, @Param("status") AccountStatus status,
+            @Param("version") Long version);
     
     /**
      * 계좌 정보 전체를 업데이트합니다.
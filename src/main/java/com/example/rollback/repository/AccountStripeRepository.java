@@ -0,0 +1,44 @@
+package com.example.rollback.repository;
+
+import com.example.rollback.domain.AccountStripe;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * 계좌 분할 잔액(stripe) 데이터 접근(MyBatis) 인터페이스입니다.
+ */
+@Mapper
+public interface AccountStripeRepository {
+
+    /**
+     * 분할 잔액 행을 생성합니다. (잔액 0)
+     */
+    void insert(@Param("accountId") Long accountId, @Param("stripeNo") int stripeNo);
+
+    /**
+     * 계좌의 분할 잔액 목록을 조회합니다.
+     */
+    List<AccountStripe> findByAccountId(@Param("accountId") Long accountId);
+
+    /**
+     * 분할 잔액 행을 조회하면서 락을 획득합니다. (SKIP LOCKED, 잠겨 있으면 null)
+     */
+    AccountStripe findForUpdateSkipLocked(@Param("accountId") Long accountId, @Param("stripeNo") int stripeNo);
+
+    /**
+     * 계좌가 활성 상태일 때만 분할 잔액을 증가시킵니다.
+     *
+     * @return 변경된 행 수 (계좌가 활성 상태가 아니면 0)
+     */
+    int increment(@Param("accountId") Long accountId, @Param("stripeNo") int stripeNo,
+            @Param("amount") BigDecimal amount);
+
+    /**
+     * 분할 잔액을 차감합니다. (기본 잔액으로 합치기용)
+     */
+    void decrement(@Param("accountId") Long accountId, @Param("stripeNo") int stripeNo,
+            @Param("amount") BigDecimal amount);
+}
@@ -0,0 +1,127 @@
+package com.example.rollback.repository;
+
+import org.apache.ibatis.type.BaseTypeHandler;
+import org.apache.ibatis.type.JdbcType;
+
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * 30자리 GUID 문자열을 시간순 16바이트(BINARY(16))로 저장하는 MyBatis 타입 핸들러입니다.
+ * <p>
+ * 128비트 구성(상위 비트부터): [시각 yyyyMMddHHmmss 10진수(47)] + [노드 식별자 Base26 11자리(52)] + [시퀀스 Base26 5자리(24)]
+ * <p>
+ * 바이트 순서가 GUID 문자열 순서와 같으므로 새 거래는 인덱스 오른쪽 끝에 추가되고,
+ * 키 크기는 문자열(30바이트 이상)의 절반 이하입니다. 조회 시에는 다시 문자열로 변환합니다.
+ * 문자열 컬럼 값을 읽으면 그대로 반환하므로 STRING 저장 방식 결과에도 사용할 수 있습니다.
+ */
+public class CompactGuidTypeHandler extends BaseTypeHandler<String> {
+
+    /** GUID 문자 집합 (Base26: 0-9 + A-P) */
+    private static final String DIGITS = "0123456789ABCDEFGHIJKLMNOP";
+
+    private static final int GUID_LENGTH = 30;
+    private static final int TIMESTAMP_LENGTH = 14;
+    private static final int NODE_LENGTH = 11;
+    private static final int SEQUENCE_LENGTH = 5;
+
+    private static final int NODE_BITS = 52; // 26^11 < 2^52
+    private static final int SEQUENCE_BITS = 24; // 26^5 < 2^24
+    private static final int LOW_NODE_BITS = Long.SIZE - SEQUENCE_BITS; // 하위 long에 들어가는 노드 비트 수
+    private static final long LOW_NODE_MASK = (1L << LOW_NODE_BITS) - 1;
+
+    @Override
+    public void setNonNullParameter(PreparedStatement ps, int i, String parameter, JdbcType jdbcType) throws SQLException {
+        ps.setBytes(i, encode(parameter));
+    }
+
+    @Override
+    public String getNullableResult(ResultSet rs, String columnName) throws SQLException {
+        return toGuid(rs.getObject(columnName));
+    }
+
+    @Override
+    public String getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+        return toGuid(rs.getObject(columnIndex));
+    }
+
+    @Override
+    public String getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
+        return toGuid(cs.getObject(columnIndex));
+    }
+
+    /**
+     * 30자리 GUID를 16바이트로 변환합니다.
+     */
+    public static byte[] encode(String guid) {
+        if (guid.length() != GUID_LENGTH) {
+            throw new IllegalArgumentException("GUID 형식이 올바르지 않습니다: " + guid);
+        }
+        long timestamp = parse(guid, 0, TIMESTAMP_LENGTH, 10);
+        long node = parse(guid, TIMESTAMP_LENGTH, NODE_LENGTH, 26);
+        long sequence = parse(guid, TIMESTAMP_LENGTH + NODE_LENGTH, SEQUENCE_LENGTH, 26);
+
+        long high = timestamp << (NODE_BITS - LOW_NODE_BITS) | node >>> LOW_NODE_BITS;
+        long low = (node & LOW_NODE_MASK) << SEQUENCE_BITS | sequence;
+
+        byte[] bytes = new byte[16];
+        for (int i = 0; i < 8; i++) {
+            bytes[i] = (byte) (high >>> (56 - 8 * i));
+            bytes[8 + i] = (byte) (low >>> (56 - 8 * i));
+        }
+        return bytes;
+    }
+
+    /**
+     * 16바이트를 30자리 GUID로 변환합니다.
+     */
+    public static String decode(byte[] bytes) {
+        if (bytes.length != 16) {
+            throw new IllegalArgumentException("압축 GUID는 16바이트여야 합니다: " + bytes.length);
+        }
+        long high = 0;
+        long low = 0;
+        for (int i = 0; i < 8; i++) {
+            high = high << 8 | (bytes[i] & 0xFF);
+            low = low << 8 | (bytes[8 + i] & 0xFF);
+        }
+
+        long timestamp = high >>> (NODE_BITS - LOW_NODE_BITS);
+        long node = (high & ((1L << (NODE_BITS - LOW_NODE_BITS)) - 1)) << LOW_NODE_BITS | low >>> SEQUENCE_BITS;
+        long sequence = low & ((1L << SEQUENCE_BITS) - 1);
+
+        char[] guid = new char[GUID_LENGTH];
+        format(timestamp, guid, 0, TIMESTAMP_LENGTH, 10);
+        format(node, guid, TIMESTAMP_LENGTH, NODE_LENGTH, 26);
+        format(sequence, guid, TIMESTAMP_LENGTH + NODE_LENGTH, SEQUENCE_LENGTH, 26);
+        return new String(guid);
+    }
+
+    private static String toGuid(Object value) {
+        if (value instanceof byte[] bytes) {
+            return decode(bytes);
+        }
+        return value != null ? value.toString() : null;
+    }
+
+    private static long parse(String guid, int offset, int length, int radix) {
+        long value = 0;
+        for (int i = offset; i < offset + length; i++) {
+            int digit = DIGITS.indexOf(guid.charAt(i));
+            if (digit < 0 || digit >= radix) {
+                throw new IllegalArgumentException("GUID 형식이 올바르지 않습니다: " + guid);
+            }
+            value = value * radix + digit;
+        }
+        return value;
+    }
+
+    private static void format(long value, char[] target, int offset, int length, int radix) {
+        for (int i = offset + length - 1; i >= offset; i--) {
+            target[i] = DIGITS.charAt((int) (value % radix));
+            value /= radix;
+        }
+    }
+}
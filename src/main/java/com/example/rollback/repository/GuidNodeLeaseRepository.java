@@ -0,0 +1,48 @@
+package com.example.rollback.repository;
+
+import com.example.rollback.domain.GuidNodeLease;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+/**
+ * GUID 노드 임대 데이터 접근(MyBatis) 인터페이스입니다.
+ * 만료 여부는 인스턴스 시계 차이의 영향을 받지 않도록 DB 시각으로 판단합니다.
+ */
+@Mapper
+public interface GuidNodeLeaseRepository {
+
+    /**
+     * 만료된 임대 중 노드 번호가 가장 작은 것을 조회합니다. (없으면 null)
+     */
+    GuidNodeLease findFirstExpired();
+
+    /**
+     * 아직 사용하지 않은 다음 노드 번호를 조회합니다.
+     */
+    int findNextNodeId();
+
+    /**
+     * 새 노드 번호를 임대합니다. (세대 0, 이미 있으면 DuplicateKeyException)
+     */
+    void insert(@Param("nodeId") int nodeId, @Param("owner") String owner, @Param("ttlMs") long ttlMs);
+
+    /**
+     * 만료된 임대를 다음 세대로 넘겨받습니다.
+     *
+     * @return 변경된 행 수 (다른 인스턴스가 먼저 넘겨받았으면 0)
+     */
+    int takeOver(@Param("nodeId") int nodeId, @Param("generation") long generation,
+            @Param("owner") String owner, @Param("ttlMs") long ttlMs);
+
+    /**
+     * 임대 만료 일시를 연장합니다.
+     *
+     * @return 변경된 행 수 (다른 인스턴스가 넘겨받았으면 0)
+     */
+    int renew(@Param("nodeId") int nodeId, @Param("generation") long generation, @Param("ttlMs") long ttlMs);
+
+    /**
+     * 임대를 즉시 만료시킵니다. (종료 시 노드 번호 반환)
+     */
+    void release(@Param("nodeId") int nodeId, @Param("generation") long generation);
+}
@@ -16,6 +16,11 @@ public interface TransactionRepository {
      * 거래를 저장합니다.
      */
     void save(Transaction transaction);
+
+    /**
+     * 여러 거래를 한 번의 INSERT 문으로 저장합니다. (생성 키는 각 거래에 채워짐)
+     */
+    void saveAll(List<Transaction> transactions);
     
     /**
      * ID로 거래를 조회합니다. (없으면 null)
@@ -0,0 +1,210 @@
+package com.example.rollback.retry;
+
+import com.example.rollback.config.DepositProperties;
+import com.example.rollback.retry.strategy.RetryCondition;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 계좌별 회로 차단기입니다. (입금 락 경로 앞단)
+ * <ul>
+ *   <li>CLOSED: 락 경합으로 인한 최종 실패가 연속 {@code failure-threshold}회 나면 OPEN으로 바뀝니다.</li>
+ *   <li>OPEN: {@code open-duration-ms} 동안 해당 계좌 입금을 재시도 루프에 넣지 않고 바로 거절합니다.</li>
+ *   <li>HALF_OPEN: 차단 시간이 지나면 입금 1건만 시험으로 통과시키고, 성공하면 CLOSED, 실패하면 다시 OPEN이 됩니다.
+ *       계좌와 무관하게 끝난 시험(재시도 예산 소진 등)은 결과로 치지 않고 다음 요청에 시험 자리를 넘깁니다.</li>
+ * </ul>
+ * 오래 잠긴 계좌 하나가 재시도 대기로 작업 스레드를 붙잡아 다른 계좌 처리까지 막는 것을 방지합니다.
+ * 실패 이력이 있는 계좌만 추적하며, CLOSED로 돌아오면 추적을 멈춥니다.
+ */
+@Slf4j
+@Component
+public class AccountCircuitBreaker {
+
+    /**
+     * 회로 상태입니다.
+     */
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    /**
+     * 회로 상태 조회 결과입니다.
+     *
+     * @param accountId 계좌 ID
+     * @param state 회로 상태
+     * @param consecutiveFailures 연속 경합 실패 횟수
+     * @param retryAfterMs OPEN일 때 시험 통과까지 남은 시간 (밀리초)
+     */
+    public record CircuitStatus(Long accountId, State state, int consecutiveFailures, long retryAfterMs) {
+    }
+
+    /** 회로 차단기 설정 */
+    private final DepositProperties.CircuitBreaker settings;
+
+    /** 락 경합 실패 판단용 재시도 조건 */
+    private final RetryCondition retryCondition;
+
+    /** 계좌별 회로 (실패 이력이 있는 계좌만) */
+    private final ConcurrentHashMap<Long, Circuit> circuits = new ConcurrentHashMap<>();
+
+    /**
+     * 생성자입니다.
+     */
+    public AccountCircuitBreaker(DepositProperties depositProperties, RetryCondition retryCondition) {
+        this.settings = depositProperties.getCircuitBreaker();
+        this.retryCondition = retryCondition;
+    }
+
+    /**
+     * 계좌 입금을 락 경로로 보내도 되는지 확인합니다.
+     * HALF_OPEN 전환 시에는 이 호출이 시험 요청이 되므로, 결과를 반드시 {@link #onSuccess}, {@link #onFailure},
+     * {@link #onIgnored} 중 하나로 알려야 합니다.
+     *
+     * @throws CircuitOpenException 회로가 열려 있거나 다른 시험 요청이 진행 중인 경우
+     */
+    public void checkPermission(Long accountId) {
+        if (!settings.isEnabled() || accountId == null) {
+            return;
+        }
+        Circuit circuit = circuits.get(accountId);
+        if (circuit != null) {
+            circuit.checkPermission(accountId, settings);
+        }
+    }
+
+    /**
+     * 락 경로 성공을 반영합니다. (회로를 닫고 추적 중단)
+     */
+    public void onSuccess(Long accountId) {
+        if (!settings.isEnabled() || accountId == null) {
+            return;
+        }
+        Circuit circuit = circuits.remove(accountId);
+        if (circuit != null && circuit.state() != State.CLOSED) {
+            log.info("계좌 회로 닫힘 - 계좌ID: {}", accountId);
+        }
+    }
+
+    /**
+     * 계좌 락 단계의 최종 실패를 반영합니다.
+     * 락 경합(재시도 대상 예외)만 실패로 세고, 재시도 예산 소진은 노드 전체 상황이므로 반영하지 않으며,
+     * 그 밖의 실패(비활성 계좌 등)는 락 경로가 동작한 것으로 봅니다.
+     */
+    public void onFailure(Long accountId, Exception ex) {
+        if (!settings.isEnabled() || accountId == null) {
+            return;
+        }
+        if (ex instanceof RetryBudgetExhaustedException) {
+            onIgnored(accountId);
+            return;
+        }
+        if (!retryCondition.isRetryable(ex)) {
+            onSuccess(accountId);
+            return;
+        }
+
+        // 성공 반영(remove)과 겹쳐도 실패가 사라지지 않도록 회로 생성과 갱신을 한 번에 처리
+        circuits.compute(accountId, (id, circuit) -> {
+            if (circuit == null) {
+                if (circuits.size() >= settings.getMaxTrackedAccounts()) {
+                    log.warn("회로 추적 계좌 수 한도({}) 초과로 실패를 기록하지 않습니다. - 계좌ID: {}",
+                            settings.getMaxTrackedAccounts(), id);
+                    return null;
+                }
+                circuit = new Circuit();
+            }
+            circuit.onFailure(id, settings);
+            return circuit;
+        });
+    }
+
+    /**
+     * 계좌와 무관하게 끝난 요청을 반영합니다. (실패로 세지 않고, 시험 요청이었으면 다음 요청에 시험 자리를 넘김)
+     */
+    public void onIgnored(Long accountId) {
+        if (!settings.isEnabled() || accountId == null) {
+            return;
+        }
+        Circuit circuit = circuits.get(accountId);
+        if (circuit != null) {
+            circuit.releaseTrial(accountId);
+        }
+    }
+
+    /**
+     * 추적 중인 계좌의 회로 상태를 반환합니다. (추적하지 않는 계좌는 CLOSED)
+     */
+    public List<CircuitStatus> getStatuses() {
+        List<CircuitStatus> statuses = new ArrayList<>(circuits.size());
+        for (Map.Entry<Long, Circuit> entry : circuits.entrySet()) {
+            statuses.add(entry.getValue().status(entry.getKey(), settings));
+        }
+        return statuses;
+    }
+
+    /**
+     * 계좌 하나의 회로입니다.
+     */
+    private static final class Circuit {
+        private State state = State.CLOSED;
+        private int consecutiveFailures;
+        private long openedAtNanos;
+
+        private synchronized State state() {
+            return state;
+        }
+
+        private synchronized void checkPermission(Long accountId, DepositProperties.CircuitBreaker settings) {
+            if (state == State.CLOSED) {
+                return;
+            }
+            if (state == State.OPEN) {
+                long remainingMs = remainingOpenMs(settings);
+                if (remainingMs > 0) {
+                    throw new CircuitOpenException(accountId, remainingMs);
+                }
+                // 차단 시간 경과: 이 요청을 시험으로 통과
+                state = State.HALF_OPEN;
+                log.info("계좌 회로 시험 통과 - 계좌ID: {}", accountId);
+                return;
+            }
+            // HALF_OPEN: 시험 요청 진행 중
+            throw new CircuitOpenException(accountId, 0);
+        }
+
+        private synchronized void onFailure(Long accountId, DepositProperties.CircuitBreaker settings) {
+            consecutiveFailures++;
+            if (state == State.HALF_OPEN
+                    || (state == State.CLOSED && consecutiveFailures >= settings.getFailureThreshold())) {
+                state = State.OPEN;
+                openedAtNanos = System.nanoTime();
+                log.warn("계좌 회로 열림 - 계좌ID: {}, 연속 실패: {}, 차단: {}ms",
+                        accountId, consecutiveFailures, settings.getOpenDurationMs());
+            }
+        }
+
+        private synchronized void releaseTrial(Long accountId) {
+            if (state == State.HALF_OPEN) {
+                // 차단 시간은 이미 지났으므로 다음 요청이 바로 시험 요청이 됨
+                state = State.OPEN;
+                log.debug("계좌 회로 시험 결과 미반영 - 계좌ID: {}", accountId);
+            }
+        }
+
+        private synchronized CircuitStatus status(Long accountId, DepositProperties.CircuitBreaker settings) {
+            long retryAfterMs = state == State.OPEN ? Math.max(0, remainingOpenMs(settings)) : 0;
+            return new CircuitStatus(accountId, state, consecutiveFailures, retryAfterMs);
+        }
+
+        private long remainingOpenMs(DepositProperties.CircuitBreaker settings) {
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - openedAtNanos);
+            return settings.getOpenDurationMs() - elapsedMs;
+        }
+    }
+}
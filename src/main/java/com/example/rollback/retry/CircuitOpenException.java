@@ -0,0 +1,25 @@
+package com.example.rollback.retry;
+
+/**
+ * 계좌의 회로 차단기가 열려 있어 락 경로를 시도하지 않고 바로 거절했음을 나타내는 예외입니다.
+ */
+public class CircuitOpenException extends RuntimeException {
+
+    /** 다시 시도해 볼 수 있을 때까지 남은 시간 (밀리초) */
+    private final long retryAfterMs;
+
+    /**
+     * 계좌 ID와 남은 차단 시간으로 예외를 생성합니다.
+     */
+    public CircuitOpenException(Long accountId, long retryAfterMs) {
+        super("계좌의 락 경합이 계속되어 입금을 일시적으로 받을 수 없습니다: " + accountId);
+        this.retryAfterMs = retryAfterMs;
+    }
+
+    /**
+     * 다시 시도해 볼 수 있을 때까지 남은 시간(밀리초)을 반환합니다.
+     */
+    public long getRetryAfterMs() {
+        return retryAfterMs;
+    }
+}
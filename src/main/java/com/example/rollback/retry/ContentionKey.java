@@ -0,0 +1,19 @@
+package com.example.rollback.retry;
+
+/**
+ * 재시도 전략이 경합 정도를 따로 추적하는 단위(작업별 자원)입니다. (예: 입금 작업의 계좌 ID)
+ * 재시도 지표도 이 키의 작업/자원 단위로 집계합니다.
+ *
+ * @param operation 작업 이름 (예: deposit, transfer)
+ * @param resource 자원 종류 (예: account)
+ * @param id 자원 식별자
+ */
+public record ContentionKey(String operation, String resource, Object id) {
+
+    /**
+     * 작업의 계좌 단위 키를 생성합니다.
+     */
+    public static ContentionKey account(String operation, Long accountId) {
+        return new ContentionKey(operation, "account", accountId);
+    }
+}
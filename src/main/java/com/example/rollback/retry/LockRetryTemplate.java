@@ -1,30 +1,89 @@
 package com.example.rollback.retry;
 
+import com.example.rollback.util.ContextHolder;
+import com.example.rollback.util.CtxMap;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.MDC;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 import java.util.function.Consumer;
 
 /**
  * 재시도(백오프 포함) 실행을 담당하는 템플릿입니다.
- * 트랜잭션은 호출자가 관리하고, 여기서는 재시도/대기만 처리합니다.
+ * 기본적으로 트랜잭션은 호출자가 관리하고, 여기서는 재시도/대기만 처리합니다.
+ * {@code executeInTransaction}은 시도마다 짧은 트랜잭션을 열고 닫습니다.
  */
 @Slf4j
 @Component
 public class LockRetryTemplate {
 
+    /** 재시도하지 않을 때 {@link #nextWaitTime}이 반환하는 값 */
+    private static final long NO_RETRY = -1L;
+
+    /** 재시도 예산이 없어 재시도하지 않을 때 {@link #nextWaitTime}이 반환하는 값 */
+    private static final long BUDGET_EXHAUSTED = -2L;
+
+    /**
+     * 경합 결과({@link RetryOutcome.Busy})를 재시도 전략에 전달할 때 쓰는 공유 신호입니다.
+     * 판단에만 쓰고 던지지 않으므로 시도마다 예외를 만들지 않습니다.
+     */
+    private static final RetryableException BUSY_SIGNAL = new RetryableException("busy");
+
     /**
      * 재시도 전략입니다.
      */
     private final RetryStrategy retryStrategy;
 
+    /** 시도 단위 트랜잭션 템플릿 */
+    private final TransactionTemplate transactionTemplate;
+
+    /** 노드 전체 재시도 예산 */
+    private final RetryBudget retryBudget;
+
+    /** 재시도/경합 지표 */
+    private final RetryMetrics retryMetrics;
+
+    /** 비동기 재시도 예약 스레드 (대기만 담당하고 작업은 실행하지 않음) */
+    private final ScheduledExecutorService retryScheduler;
+
+    /** 비동기 작업 실행기 (시도마다 가상 스레드) */
+    private final ExecutorService attemptExecutor;
+
     /**
      * 생성자입니다.
      */
-    public LockRetryTemplate(RetryStrategy retryStrategy) {
+    public LockRetryTemplate(RetryStrategy retryStrategy, TransactionTemplate transactionTemplate,
+            RetryBudget retryBudget, RetryMetrics retryMetrics) {
         this.retryStrategy = retryStrategy;
+        this.transactionTemplate = transactionTemplate;
+        this.retryBudget = retryBudget;
+        this.retryMetrics = retryMetrics;
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "lock-retry-scheduler");
+            t.setDaemon(true);
+            return t;
+        });
+        this.attemptExecutor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("lock-retry-", 0).factory());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        retryScheduler.shutdownNow();
+        attemptExecutor.shutdownNow();
     }
-    
+
     /**
      * 재시도 로직이 적용된 작업을 실행하는 메서드
      *
@@ -41,54 +100,302 @@ public class LockRetryTemplate {
      * @param onFinalFailure 최종 실패 시 1회 호출되는 훅 (null 가능)
      */
     public <T> T execute(Supplier<T> action, Consumer<Exception> onFinalFailure) {
+        return execute(null, action, onFinalFailure);
+    }
+
+    /**
+     * 경합 키 기준으로 재시도 로직이 적용된 작업을 실행합니다. (최종 실패 훅 제공)
+     * 키별로 동작을 조정하는 전략은 같은 키의 최근 성공/실패를 반영해 대기 시간과 시도 횟수를 정합니다.
+     *
+     * @param key 경합 키 (null 가능)
+     * @param action 실행할 작업
+     * @param onFinalFailure 최종 실패 시 1회 호출되는 훅 (null 가능)
+     */
+    public <T> T execute(ContentionKey key, Supplier<T> action, Consumer<Exception> onFinalFailure) {
+        RetryableAction<T> succeeding = () -> RetryOutcome.success(action.get());
+        return execute(key, succeeding, onFinalFailure);
+    }
+
+    /**
+     * 경합 키 기준으로 결과 기반 작업을 재시도합니다. (최종 실패 훅 제공)
+     * 작업은 예상된 경합을 {@link RetryOutcome#busy}로 알리므로 예외를 만들지 않고 재시도 대기로 넘어갑니다.
+     * 작업이 던진 예외는 기존과 같이 재시도 전략이 판단하고, {@link RetryOutcome#fatal}은 재시도하지 않습니다.
+     * 경합으로 최종 실패하면 {@link RetryableException}을 던집니다.
+     *
+     * @param key 경합 키 (null 가능)
+     * @param action 실행할 작업
+     * @param onFinalFailure 최종 실패 시 1회 호출되는 훅 (null 가능)
+     */
+    public <T> T execute(ContentionKey key, RetryableAction<T> action, Consumer<Exception> onFinalFailure) {
         int attempt = 0;
-        
+        int busyAttempts = 0;
+        long waitTime = 0;
+        long totalWaitTime = 0;
+
         while (true) {
             attempt++;
-            
-            try {
-                log.debug("");                
-                log.debug("");                
-                log.debug("");                
-                log.debug("");                
-                log.debug("");    
-                log.debug("==============================================================");
-                                                                            
 
+            RetryOutcome<T> outcome;
+            try {
                 log.debug("작업 실행 시도: {}", attempt);
-                return action.get();
-                
-            } catch (Exception ex) {
-                boolean shouldRetry = retryStrategy.shouldRetry(ex, attempt);
-                if (!shouldRetry && onFinalFailure != null) {
-                    try {
-                        onFinalFailure.accept(ex);
-                    } catch (Exception hookEx) {
-                        log.warn("최종 실패 훅(onFinalFailure) 처리 중 예외 발생: {}", hookEx.getClass().getSimpleName());
-                    }
+                outcome = action.attempt();
+            } catch (RuntimeException ex) {
+                waitTime = nextWaitTime(key, ex, attempt, waitTime);
+                if (waitTime < 0) {
+                    RuntimeException failure = finalFailure(ex, waitTime, onFinalFailure);
+                    retryMetrics.record(key, attempt, busyAttempts, totalWaitTime, failure);
+                    throw failure;
+                }
+                totalWaitTime += waitTime;
+                sleep(waitTime);
+                continue;
+            }
+
+            switch (outcome) {
+                case RetryOutcome.Success<T> success -> {
+                    onSuccess(key, attempt);
+                    retryMetrics.record(key, attempt, busyAttempts, totalWaitTime, null);
+                    return success.value();
                 }
-                
-                log.warn("작업 실패 (시도: {}): {}", attempt, ex.getClass().getSimpleName());
-                
-                if (shouldRetry) {
-                    long waitTime = retryStrategy.getWaitTime(attempt);
-                    log.info("재시도 대기: {}ms (시도: {}), 예외: {}", 
-                        waitTime, attempt, ex.getClass().getSimpleName());
-                    
-                    try {
-                        Thread.sleep(waitTime);
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                        log.error("재시도 대기 중 인터럽트 발생", ie);
-                        throw new RuntimeException("재시도 대기 중 인터럽트 발생", ie);
+                case RetryOutcome.Fatal<T> fatal -> {
+                    RuntimeException failure = finalFailure(fatal.error(), NO_RETRY, onFinalFailure);
+                    retryMetrics.record(key, attempt, busyAttempts, totalWaitTime, failure);
+                    throw failure;
+                }
+                case RetryOutcome.Busy<T> busy -> {
+                    busyAttempts++;
+                    waitTime = nextWaitTime(key, BUSY_SIGNAL, attempt, waitTime);
+                    if (waitTime < 0) {
+                        RuntimeException failure =
+                                finalFailure(new RetryableException(busy.reason()), waitTime, onFinalFailure);
+                        retryMetrics.record(key, attempt, busyAttempts, totalWaitTime, failure);
+                        throw failure;
                     }
-                    
-                    continue;
-                } else {
-                    log.error("재시도 최종 실패 (시도: {}): {}", attempt, ex.getClass().getSimpleName());
-                    throw ex;
+                    totalWaitTime += waitTime;
+                    sleep(waitTime);
                 }
             }
         }
     }
+
+    private static void sleep(long waitTime) {
+        try {
+            Thread.sleep(waitTime);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            log.error("재시도 대기 중 인터럽트 발생", ie);
+            throw new RuntimeException("재시도 대기 중 인터럽트 발생", ie);
+        }
+    }
+
+    /**
+     * 시도마다 새 트랜잭션으로 작업을 실행합니다.
+     * 실패한 시도는 롤백되어 커넥션이 반납된 뒤 대기하고, 다음 시도는 새 트랜잭션(새 스냅샷)에서 시작합니다.
+     *
+     * @param action 실행할 작업 (한 시도 = 한 트랜잭션)
+     * @param onFinalFailure 최종 실패 시 1회 호출되는 훅 (null 가능)
+     * @throws IllegalStateException 이미 트랜잭션 안에서 호출된 경우 (시도마다 커넥션을 반납할 수 없음)
+     */
+    public <T> T executeInTransaction(Supplier<T> action, Consumer<Exception> onFinalFailure) {
+        return executeInTransaction(null, action, onFinalFailure);
+    }
+
+    /**
+     * 경합 키 기준으로 시도마다 새 트랜잭션으로 작업을 실행합니다.
+     *
+     * @see #executeInTransaction(Supplier, Consumer)
+     */
+    public <T> T executeInTransaction(ContentionKey key, Supplier<T> action, Consumer<Exception> onFinalFailure) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("시도 단위 트랜잭션 재시도는 트랜잭션 밖에서 호출해야 합니다");
+        }
+        Supplier<T> inTransaction = () -> transactionTemplate.execute(status -> action.get());
+        return execute(key, inTransaction, onFinalFailure);
+    }
+
+    /**
+     * 경합 키 기준으로 시도마다 새 트랜잭션으로 결과 기반 작업을 실행합니다.
+     * 성공이 아닌 결과를 반환한 시도의 트랜잭션은 롤백합니다.
+     *
+     * @see #executeInTransaction(Supplier, Consumer)
+     * @see #execute(ContentionKey, RetryableAction, Consumer)
+     */
+    public <T> T executeInTransaction(ContentionKey key, RetryableAction<T> action,
+            Consumer<Exception> onFinalFailure) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("시도 단위 트랜잭션 재시도는 트랜잭션 밖에서 호출해야 합니다");
+        }
+        RetryableAction<T> inTransaction = () -> transactionTemplate.execute(status -> {
+            RetryOutcome<T> outcome = action.attempt();
+            if (!(outcome instanceof RetryOutcome.Success<T>)) {
+                status.setRollbackOnly();
+            }
+            return outcome;
+        });
+        return execute(key, inTransaction, onFinalFailure);
+    }
+
+    /**
+     * 시도마다 새 트랜잭션으로 작업을 비동기 실행합니다. (대기 중 스레드/커넥션 미점유)
+     *
+     * @see #executeInTransaction(ContentionKey, Supplier, Consumer)
+     * @see #executeAsync(ContentionKey, Supplier, Consumer)
+     */
+    public <T> CompletableFuture<T> executeInTransactionAsync(ContentionKey key, Supplier<T> action,
+            Consumer<Exception> onFinalFailure) {
+        return executeAsync(key, () -> transactionTemplate.execute(status -> action.get()), onFinalFailure);
+    }
+
+    /**
+     * 재시도 로직이 적용된 작업을 비동기로 실행합니다.
+     *
+     * @see #executeAsync(ContentionKey, Supplier, Consumer)
+     */
+    public <T> CompletableFuture<T> executeAsync(Supplier<T> action) {
+        return executeAsync(null, action, null);
+    }
+
+    /**
+     * 재시도 로직이 적용된 작업을 비동기로 실행합니다. (최종 실패 훅 제공)
+     *
+     * @see #executeAsync(ContentionKey, Supplier, Consumer)
+     */
+    public <T> CompletableFuture<T> executeAsync(Supplier<T> action, Consumer<Exception> onFinalFailure) {
+        return executeAsync(null, action, onFinalFailure);
+    }
+
+    /**
+     * 재시도 로직이 적용된 작업을 비동기로 실행합니다. (최종 실패 훅 제공)
+     * 대기는 타이머로 예약하고 스레드를 재우지 않으므로, 백오프 동안 호출 스레드나 작업 스레드를 점유하지 않습니다.
+     * 각 시도는 가상 스레드에서 실행되며, 호출 시점의 컨텍스트(GUID 등)와 MDC가 전달됩니다.
+     * 작업은 호출자와 다른 스레드에서 실행되므로 호출자의 트랜잭션에 참여하지 않습니다. (트랜잭션은 작업 안에서 열어야 합니다)
+     *
+     * @param key 경합 키 (null 가능)
+     * @param action 실행할 작업
+     * @param onFinalFailure 최종 실패 시 1회 호출되는 훅 (null 가능)
+     * @return 작업 결과 (최종 실패 시 마지막 예외로 완료)
+     */
+    public <T> CompletableFuture<T> executeAsync(ContentionKey key, Supplier<T> action,
+            Consumer<Exception> onFinalFailure) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AsyncRetry<T> retry = new AsyncRetry<>(key, action, onFinalFailure, result,
+                ContextHolder.copyContext(), MDC.getCopyOfContextMap());
+        submitAttempt(retry, 1, 0, 0);
+        return result;
+    }
+
+    /**
+     * 비동기 시도 한 번을 실행하고, 실패하면 다음 시도를 타이머에 예약합니다.
+     * 어떤 경로로 끝나든(Error, 종료 중 실행/예약 거부 포함) 결과는 반드시 완료됩니다.
+     */
+    private <T> void submitAttempt(AsyncRetry<T> retry, int attempt, long previousWaitMs, long totalWaitMs) {
+        if (retry.result().isDone()) {
+            // 호출자가 취소한 경우
+            return;
+        }
+
+        try {
+            attemptExecutor.execute(() -> runAttempt(retry, attempt, previousWaitMs, totalWaitMs));
+        } catch (RejectedExecutionException rejected) {
+            // 종료 중이라 실행이 거부된 경우
+            retry.result().completeExceptionally(rejected);
+        }
+    }
+
+    /**
+     * 비동기 시도 한 번입니다. (작업 스레드에서 실행)
+     */
+    private <T> void runAttempt(AsyncRetry<T> retry, int attempt, long previousWaitMs, long totalWaitMs) {
+        ContextHolder.setContext(retry.context());
+        if (retry.mdc() != null) {
+            MDC.setContextMap(retry.mdc());
+        }
+        try {
+            log.debug("비동기 작업 실행 시도: {}", attempt);
+            T value = retry.action().get();
+            onSuccess(retry.key(), attempt);
+            retryMetrics.record(retry.key(), attempt, 0, totalWaitMs, null);
+            retry.result().complete(value);
+        } catch (RuntimeException ex) {
+            long waitTime = nextWaitTime(retry.key(), ex, attempt, previousWaitMs);
+            if (waitTime < 0) {
+                RuntimeException failure = finalFailure(ex, waitTime, retry.onFinalFailure());
+                retryMetrics.record(retry.key(), attempt, 0, totalWaitMs, failure);
+                retry.result().completeExceptionally(failure);
+                return;
+            }
+            try {
+                retryScheduler.schedule(() -> submitAttempt(retry, attempt + 1, waitTime, totalWaitMs + waitTime),
+                        waitTime, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException rejected) {
+                // 종료 중이라 예약이 거부된 경우: 마지막 실패를 원인으로 완료
+                rejected.addSuppressed(ex);
+                retry.result().completeExceptionally(rejected);
+            }
+        } catch (Throwable error) {
+            // Error 등은 재시도하지 않고 그대로 전달 (결과를 완료하지 않으면 호출자가 영원히 기다림)
+            retry.result().completeExceptionally(error);
+            throw error;
+        } finally {
+            ContextHolder.clearContext();
+            MDC.clear();
+        }
+    }
+
+    /**
+     * 작업 성공을 재시도 전략과 예산에 알립니다.
+     */
+    private void onSuccess(ContentionKey key, int attempt) {
+        retryStrategy.onSuccess(key, attempt);
+        if (attempt == 1) {
+            retryBudget.onFirstAttemptSuccess();
+        }
+    }
+
+    /**
+     * 실패한 시도에 대해 재시도 여부를 판단하고 대기 시간을 계산합니다.
+     * 재시도하지 않으면 {@link #NO_RETRY}, 재시도 예산이 없으면 {@link #BUDGET_EXHAUSTED}를 반환합니다.
+     */
+    private long nextWaitTime(ContentionKey key, Exception ex, int attempt, long previousWaitMs) {
+        boolean shouldRetry = retryStrategy.shouldRetry(key, ex, attempt);
+
+        log.debug("작업 실패 (시도: {}): {}", attempt, ex.getClass().getSimpleName());
+
+        if (!shouldRetry) {
+            log.error("재시도 최종 실패 (시도: {}): {}", attempt, ex.getClass().getSimpleName());
+            return NO_RETRY;
+        }
+        if (!retryBudget.tryAcquire()) {
+            log.error("재시도 예산 소진으로 중단 (시도: {}): {}", attempt, ex.getClass().getSimpleName());
+            return BUDGET_EXHAUSTED;
+        }
+
+        long waitTime = retryStrategy.getWaitTime(key, attempt, previousWaitMs);
+        log.debug("재시도 대기: {}ms (시도: {}), 예외: {}",
+            waitTime, attempt, ex.getClass().getSimpleName());
+        return waitTime;
+    }
+
+    /**
+     * 최종 실패 예외를 정하고 최종 실패 훅을 1회 호출합니다.
+     * 재시도 예산 소진이면 {@link RetryBudgetExhaustedException}(원인: 마지막 실패)을, 아니면 마지막 실패를 반환합니다.
+     */
+    private RuntimeException finalFailure(RuntimeException ex, long decision, Consumer<Exception> onFinalFailure) {
+        RuntimeException failure = decision == BUDGET_EXHAUSTED ? new RetryBudgetExhaustedException(ex) : ex;
+        if (onFinalFailure != null) {
+            try {
+                onFinalFailure.accept(failure);
+            } catch (Exception hookEx) {
+                log.warn("최종 실패 훅(onFinalFailure) 처리 중 예외 발생: {}", hookEx.getClass().getSimpleName());
+            }
+        }
+        return failure;
+    }
+
+    /**
+     * 비동기 재시도 한 건의 실행 정보입니다.
+     */
+    private record AsyncRetry<T>(ContentionKey key, Supplier<T> action, Consumer<Exception> onFinalFailure,
+            CompletableFuture<T> result, CtxMap context, Map<String, String> mdc) {
+    }
 }
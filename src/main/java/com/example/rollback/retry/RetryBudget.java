@@ -0,0 +1,143 @@
+package com.example.rollback.retry;
+
+import com.example.rollback.config.RetryProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 노드 전체가 공유하는 재시도 예산(토큰 버킷)입니다.
+ * 재시도 1회마다 토큰 1개를 쓰고, 첫 시도 성공마다 설정 비율만큼 채웁니다.
+ * 경합이 심해 첫 시도가 계속 실패하면 예산이 줄어들어 재시도가 DB 부하를 키우지 않습니다.
+ * 첫 시도가 모두 실패해도 초당 최소 토큰({@code minRetriesPerSecond})은 채우므로 재시도가 완전히 멈추지는 않습니다.
+ */
+@Slf4j
+@Component
+public class RetryBudget {
+
+    /** 토큰 1개를 나타내는 고정소수점 단위 */
+    private static final long UNIT = 1000;
+
+    /** 예산 설정 */
+    private final RetryProperties.Budget settings;
+
+    /** 시각 (나노초) */
+    private final LongSupplier nanoClock;
+
+    /** 남은 토큰 (UNIT 배수) */
+    private final AtomicLong tokens;
+
+    /** 시간 기준 충전을 마지막으로 반영한 시각 (나노초) */
+    private final AtomicLong lastRefillNanos;
+
+    /** 예산을 쓴 재시도 수 */
+    private final Counter acquired;
+
+    /** 예산 부족으로 거절된 재시도 수 */
+    private final Counter rejected;
+
+    /**
+     * 생성자입니다.
+     */
+    @Autowired
+    public RetryBudget(RetryProperties retryProperties, MeterRegistry meterRegistry) {
+        this(retryProperties, meterRegistry, System::nanoTime);
+    }
+
+    /**
+     * 시각을 지정하는 생성자입니다. (테스트용)
+     */
+    RetryBudget(RetryProperties retryProperties, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.settings = retryProperties.getBudget();
+        this.nanoClock = nanoClock;
+        this.tokens = new AtomicLong(Math.round(settings.getMaxTokens() * UNIT));
+        this.lastRefillNanos = new AtomicLong(nanoClock.getAsLong());
+
+        Gauge.builder("retry.budget.tokens", tokens, current -> (double) current.get() / UNIT)
+                .description("남은 재시도 예산 토큰 수")
+                .register(meterRegistry);
+        this.acquired = Counter.builder("retry.budget.acquired")
+                .description("예산을 쓰고 실행된 재시도 수")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("retry.budget.rejected")
+                .description("예산 소진으로 거절된 재시도 수")
+                .register(meterRegistry);
+
+        log.info("재시도 예산 {} (최대 토큰: {}, 첫 시도 성공당 충전: {}, 초당 최소 충전: {})",
+                settings.isEnabled() ? "활성화" : "비활성화", settings.getMaxTokens(), settings.getRefillRatio(),
+                settings.getMinRetriesPerSecond());
+    }
+
+    /**
+     * 재시도 1회분 토큰을 사용합니다.
+     *
+     * @return 사용 가능 여부 (예산이 꺼져 있으면 항상 true)
+     */
+    public boolean tryAcquire() {
+        if (!settings.isEnabled()) {
+            return true;
+        }
+        refillByTime();
+        while (true) {
+            long current = tokens.get();
+            if (current < UNIT) {
+                rejected.increment();
+                return false;
+            }
+            if (tokens.compareAndSet(current, current - UNIT)) {
+                acquired.increment();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 첫 시도 성공을 반영해 토큰을 채웁니다. (최대 토큰 수까지)
+     */
+    public void onFirstAttemptSuccess() {
+        if (!settings.isEnabled()) {
+            return;
+        }
+        refill(Math.round(settings.getRefillRatio() * UNIT));
+    }
+
+    /**
+     * 마지막 반영 이후 지난 시간만큼 초당 최소 토큰을 채웁니다.
+     * 1개 미만으로 쌓인 시간은 다음 반영으로 넘기고, 시각을 먼저 차지한 스레드만 채웁니다.
+     */
+    private void refillByTime() {
+        double perSecond = settings.getMinRetriesPerSecond();
+        if (perSecond <= 0) {
+            return;
+        }
+        long last = lastRefillNanos.get();
+        long now = nanoClock.getAsLong();
+        // 최대 토큰을 다 채우는 시간보다 오래 지났으면 그 시간만큼만 계산 (오버플로 방지)
+        long fullNanos = (long) (settings.getMaxTokens() / perSecond * TimeUnit.SECONDS.toNanos(1));
+        long elapsed = Math.min(now - last, fullNanos);
+        long refill = (long) (elapsed * perSecond * UNIT / TimeUnit.SECONDS.toNanos(1));
+        if (refill < UNIT || !lastRefillNanos.compareAndSet(last, now)) {
+            return;
+        }
+        refill(refill);
+    }
+
+    private void refill(long amount) {
+        long max = Math.round(settings.getMaxTokens() * UNIT);
+        tokens.accumulateAndGet(amount, (current, add) -> Math.min(max, current + add));
+    }
+
+    /**
+     * 남은 토큰 수를 반환합니다.
+     */
+    public double availableTokens() {
+        return (double) tokens.get() / UNIT;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.rollback.retry;
+
+/**
+ * 노드 전체 재시도 예산이 소진되어 재시도하지 않고 바로 실패했음을 나타내는 예외입니다.
+ * 재시도 대상이 아니며, 원인 예외로 마지막 시도의 실패를 담습니다.
+ */
+public class RetryBudgetExhaustedException extends RuntimeException {
+
+    /**
+     * 마지막 시도의 실패로 예외를 생성합니다.
+     */
+    public RetryBudgetExhaustedException(Throwable cause) {
+        super("재시도 예산이 소진되었습니다", cause);
+    }
+}
@@ -0,0 +1,352 @@
+package com.example.rollback.retry;
+
+import com.example.rollback.config.RetryProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 재시도/락 경합 지표를 집계합니다.
+ * <ul>
+ *   <li>작업별: Micrometer 미터(시도 횟수·누적 대기 분포, 최종 실패, 시도 결과)와 JSON 조회용 누적값</li>
+ *   <li>계좌(경합 키)별: 재시도/경합/최종 실패가 있었던 키만 JSON 조회용으로 집계 (시도 횟수·누적 대기 분포 포함)</li>
+ * </ul>
+ * 계좌별 지표는 {@code key-window-ms} 구간마다 새로 집계하고 직전 구간까지만 보여 주므로,
+ * 지금 경합이 심한 계좌가 드러나고 한때 경합했던 계좌는 구간 두 개가 지나면 사라집니다. (구간당 키 수 상한 적용)
+ * 계좌 ID는 태그로 쓰면 미터 수가 끝없이 늘어나므로 Micrometer에는 작업 단위로만 내보냅니다.
+ * 시도 결과 BUSY는 {@link RetryOutcome.Busy}(SKIP LOCKED로 잠긴 행을 건너뛴 경우)입니다.
+ */
+@Component
+public class RetryMetrics {
+
+    /** 경합 키 없이 실행된 재시도의 작업 이름 */
+    private static final String NO_OPERATION = "none";
+
+    /** 시도 횟수 분포 구간 (이하) */
+    private static final long[] ATTEMPT_BUCKETS = { 1, 2, 3, 5, 10 };
+
+    /** 누적 대기 시간 분포 구간 (밀리초 이하) */
+    private static final long[] BACKOFF_BUCKETS_MS = { 0, 10, 100, 500, 1000, 5000 };
+
+    /** 미터 레지스트리 */
+    private final MeterRegistry meterRegistry;
+
+    /** 지표 설정 */
+    private final RetryProperties.Metrics settings;
+
+    /** 작업별 지표 */
+    private final ConcurrentHashMap<String, OperationStats> operations = new ConcurrentHashMap<>();
+
+    /** 현재 구간의 경합 키별 지표 (재시도/경합/최종 실패가 있었던 키만) */
+    private volatile KeyWindow currentKeys;
+
+    /** 직전 구간의 경합 키별 지표 */
+    private volatile KeyWindow previousKeys;
+
+    /**
+     * 생성자입니다.
+     */
+    public RetryMetrics(MeterRegistry meterRegistry, RetryProperties retryProperties) {
+        this.meterRegistry = meterRegistry;
+        this.settings = retryProperties.getMetrics();
+        this.currentKeys = new KeyWindow(System.nanoTime());
+        this.previousKeys = new KeyWindow(System.nanoTime());
+    }
+
+    /**
+     * 재시도 실행 한 건을 기록합니다.
+     *
+     * @param key 경합 키 (null 가능)
+     * @param attempts 시도 횟수
+     * @param busyAttempts 경합(BUSY)으로 끝난 시도 횟수
+     * @param backoffMs 재시도 대기 시간 합계 (밀리초)
+     * @param failure 최종 실패 예외 (성공이면 null)
+     */
+    public void record(ContentionKey key, int attempts, int busyAttempts, long backoffMs, Exception failure) {
+        String operation = key != null && key.operation() != null ? key.operation() : NO_OPERATION;
+        operations.computeIfAbsent(operation, OperationStats::new)
+                .record(attempts, busyAttempts, backoffMs, failure);
+
+        if (key != null && (attempts > 1 || busyAttempts > 0 || failure != null)) {
+            ConcurrentHashMap<ContentionKey, KeyStats> keys = keyWindow().keys;
+            KeyStats stats = keys.get(key);
+            if (stats == null) {
+                if (keys.size() >= settings.getMaxTrackedKeys()) {
+                    return;
+                }
+                stats = keys.computeIfAbsent(key, unused -> new KeyStats());
+            }
+            stats.record(attempts, busyAttempts, backoffMs, failure);
+        }
+    }
+
+    /**
+     * 현재 구간을 반환합니다. 구간이 지났으면 현재 구간을 직전 구간으로 넘기고 새 구간을 시작합니다.
+     */
+    private KeyWindow keyWindow() {
+        KeyWindow window = currentKeys;
+        long now = System.nanoTime();
+        if (now - window.startedAtNanos < TimeUnit.MILLISECONDS.toNanos(settings.getKeyWindowMs())) {
+            return window;
+        }
+        synchronized (this) {
+            window = currentKeys;
+            if (now - window.startedAtNanos >= TimeUnit.MILLISECONDS.toNanos(settings.getKeyWindowMs())) {
+                // 두 구간 이상 지났으면 직전 구간도 비어 있어야 함
+                boolean stale = now - window.startedAtNanos >= 2 * TimeUnit.MILLISECONDS.toNanos(settings.getKeyWindowMs());
+                previousKeys = stale ? new KeyWindow(now) : window;
+                window = new KeyWindow(now);
+                currentKeys = window;
+            }
+            return window;
+        }
+    }
+
+    /**
+     * 작업별 지표와 경합이 많은 키 상위 {@code limit}개를 반환합니다.
+     */
+    public Snapshot snapshot(int limit) {
+        List<OperationSnapshot> operationSnapshots = new ArrayList<>(operations.size());
+        for (OperationStats stats : operations.values()) {
+            operationSnapshots.add(stats.snapshot());
+        }
+        operationSnapshots.sort(Comparator.comparing(OperationSnapshot::operation));
+
+        // 직전 구간과 현재 구간을 합산
+        KeyWindow current = keyWindow();
+        Map<ContentionKey, KeySnapshot> merged = new HashMap<>();
+        for (KeyWindow window : List.of(previousKeys, current)) {
+            for (Map.Entry<ContentionKey, KeyStats> entry : window.keys.entrySet()) {
+                merged.merge(entry.getKey(), entry.getValue().snapshot(entry.getKey()), KeySnapshot::plus);
+            }
+        }
+        List<KeySnapshot> keySnapshots = new ArrayList<>(merged.values());
+        keySnapshots.sort(Comparator.comparingLong(KeySnapshot::busyAttempts)
+                .thenComparingLong(KeySnapshot::attempts)
+                .reversed());
+
+        return new Snapshot(operationSnapshots,
+                keySnapshots.subList(0, Math.min(Math.max(limit, 0), keySnapshots.size())),
+                merged.size());
+    }
+
+    /**
+     * 재시도 지표 조회 결과입니다.
+     *
+     * @param operations 작업별 지표
+     * @param hottestKeys 직전/현재 구간에 경합(BUSY) 시도가 많은 키 순
+     * @param trackedKeys 직전/현재 구간에 추적 중인 키 수
+     */
+    public record Snapshot(List<OperationSnapshot> operations, List<KeySnapshot> hottestKeys, int trackedKeys) {
+    }
+
+    /**
+     * 작업별 지표입니다.
+     *
+     * @param attemptHistogram 시도 횟수 구간({@code <=1, <=2, <=3, <=5, <=10, >10})별 실행 수
+     * @param skipLockedMissRate 전체 시도 중 경합(BUSY)으로 끝난 비율
+     */
+    public record OperationSnapshot(String operation, long executions, long attempts, long busyAttempts,
+            double skipLockedMissRate, long[] attemptHistogram, long totalBackoffMs, long maxBackoffMs,
+            long finalFailures) {
+    }
+
+    /**
+     * 경합 키별 지표입니다. (재시도/경합/최종 실패가 있었던 실행만 집계)
+     *
+     * @param attemptHistogram 시도 횟수 구간({@code <=1, <=2, <=3, <=5, <=10, >10})별 실행 수
+     * @param backoffHistogram 누적 대기 시간 구간({@code <=0, <=10, <=100, <=500, <=1000, <=5000, >5000}ms)별 실행 수
+     */
+    public record KeySnapshot(String operation, String resource, Object id, long executions, long attempts,
+            long busyAttempts, double skipLockedMissRate, long[] attemptHistogram, long totalBackoffMs,
+            long[] backoffHistogram, long finalFailures) {
+
+        private KeySnapshot plus(KeySnapshot other) {
+            long attemptSum = attempts + other.attempts;
+            long busySum = busyAttempts + other.busyAttempts;
+            return new KeySnapshot(operation, resource, id, executions + other.executions, attemptSum, busySum,
+                    ratio(busySum, attemptSum), sum(attemptHistogram, other.attemptHistogram),
+                    totalBackoffMs + other.totalBackoffMs, sum(backoffHistogram, other.backoffHistogram),
+                    finalFailures + other.finalFailures);
+        }
+    }
+
+    private static double ratio(long part, long total) {
+        return total == 0 ? 0 : (double) part / total;
+    }
+
+    private static int bucketOf(long[] buckets, long value) {
+        for (int i = 0; i < buckets.length; i++) {
+            if (value <= buckets[i]) {
+                return i;
+            }
+        }
+        return buckets.length;
+    }
+
+    private static LongAdder[] newHistogram(long[] buckets) {
+        LongAdder[] histogram = new LongAdder[buckets.length + 1];
+        for (int i = 0; i < histogram.length; i++) {
+            histogram[i] = new LongAdder();
+        }
+        return histogram;
+    }
+
+    private static long[] counts(LongAdder[] histogram) {
+        long[] counts = new long[histogram.length];
+        for (int i = 0; i < histogram.length; i++) {
+            counts[i] = histogram[i].sum();
+        }
+        return counts;
+    }
+
+    private static long[] sum(long[] a, long[] b) {
+        long[] sum = new long[a.length];
+        for (int i = 0; i < a.length; i++) {
+            sum[i] = a[i] + b[i];
+        }
+        return sum;
+    }
+
+    /**
+     * 작업 하나의 지표입니다.
+     */
+    private final class OperationStats {
+        private final String operation;
+        private final DistributionSummary attemptSummary;
+        private final Timer backoffTimer;
+        private final Counter acquiredAttempts;
+        private final Counter busyAttemptCounter;
+        private final Counter errorAttempts;
+        private final LongAdder executions = new LongAdder();
+        private final LongAdder attempts = new LongAdder();
+        private final LongAdder busyAttempts = new LongAdder();
+        private final LongAdder backoffMs = new LongAdder();
+        private final LongAdder finalFailures = new LongAdder();
+        private final LongAdder[] histogram = newHistogram(ATTEMPT_BUCKETS);
+        private volatile long maxBackoffMs;
+
+        private OperationStats(String operation) {
+            this.operation = operation;
+            this.attemptSummary = DistributionSummary.builder("retry.attempts")
+                    .description("재시도 실행 1건당 시도 횟수")
+                    .tag("operation", operation)
+                    .serviceLevelObjectives(1, 2, 3, 5, 10)
+                    .register(meterRegistry);
+            this.backoffTimer = Timer.builder("retry.backoff")
+                    .description("재시도 실행 1건당 대기 시간 합계")
+                    .tag("operation", operation)
+                    .serviceLevelObjectives(Duration.ofMillis(10), Duration.ofMillis(100), Duration.ofMillis(500),
+                            Duration.ofSeconds(1), Duration.ofSeconds(5))
+                    .register(meterRegistry);
+            this.acquiredAttempts = attemptCounter(operation, "success");
+            this.busyAttemptCounter = attemptCounter(operation, "busy");
+            this.errorAttempts = attemptCounter(operation, "error");
+        }
+
+        private Counter attemptCounter(String operation, String result) {
+            return Counter.builder("retry.attempt.results")
+                    .description("시도 결과별 횟수 (busy: SKIP LOCKED로 잠긴 행을 건너뜀)")
+                    .tag("operation", operation)
+                    .tag("result", result)
+                    .register(meterRegistry);
+        }
+
+        private void record(int attemptCount, int busyCount, long backoff, Exception failure) {
+            attemptSummary.record(attemptCount);
+            backoffTimer.record(backoff, TimeUnit.MILLISECONDS);
+            int errorCount = attemptCount - busyCount - (failure == null ? 1 : 0);
+            if (failure == null) {
+                acquiredAttempts.increment();
+            }
+            if (busyCount > 0) {
+                busyAttemptCounter.increment(busyCount);
+            }
+            if (errorCount > 0) {
+                errorAttempts.increment(errorCount);
+            }
+            if (failure != null) {
+                finalFailures.increment();
+                Counter.builder("retry.final.failures")
+                        .description("재시도 최종 실패 횟수")
+                        .tag("operation", operation)
+                        .tag("exception", failure.getClass().getSimpleName())
+                        .register(meterRegistry)
+                        .increment();
+            }
+
+            executions.increment();
+            attempts.add(attemptCount);
+            busyAttempts.add(busyCount);
+            backoffMs.add(backoff);
+            histogram[bucketOf(ATTEMPT_BUCKETS, attemptCount)].increment();
+            if (backoff > maxBackoffMs) {
+                maxBackoffMs = backoff;
+            }
+        }
+
+        private OperationSnapshot snapshot() {
+            long attemptSum = attempts.sum();
+            long busySum = busyAttempts.sum();
+            return new OperationSnapshot(operation, executions.sum(), attemptSum, busySum, ratio(busySum, attemptSum),
+                    counts(histogram), backoffMs.sum(), maxBackoffMs, finalFailures.sum());
+        }
+    }
+
+    /**
+     * 경합 키 하나의 지표입니다.
+     */
+    private static final class KeyStats {
+        private final LongAdder executions = new LongAdder();
+        private final LongAdder attempts = new LongAdder();
+        private final LongAdder busyAttempts = new LongAdder();
+        private final LongAdder backoffMs = new LongAdder();
+        private final LongAdder finalFailures = new LongAdder();
+        private final LongAdder[] attemptHistogram = newHistogram(ATTEMPT_BUCKETS);
+        private final LongAdder[] backoffHistogram = newHistogram(BACKOFF_BUCKETS_MS);
+
+        private void record(int attemptCount, int busyCount, long backoff, Exception failure) {
+            executions.increment();
+            attempts.add(attemptCount);
+            busyAttempts.add(busyCount);
+            backoffMs.add(backoff);
+            attemptHistogram[bucketOf(ATTEMPT_BUCKETS, attemptCount)].increment();
+            backoffHistogram[bucketOf(BACKOFF_BUCKETS_MS, backoff)].increment();
+            if (failure != null) {
+                finalFailures.increment();
+            }
+        }
+
+        private KeySnapshot snapshot(ContentionKey key) {
+            long attemptSum = attempts.sum();
+            long busySum = busyAttempts.sum();
+            return new KeySnapshot(key.operation(), key.resource(), key.id(), executions.sum(), attemptSum, busySum,
+                    ratio(busySum, attemptSum), counts(attemptHistogram), backoffMs.sum(), counts(backoffHistogram),
+                    finalFailures.sum());
+        }
+    }
+
+    /**
+     * 경합 키별 지표 집계 구간 하나입니다.
+     */
+    private static final class KeyWindow {
+        private final long startedAtNanos;
+        private final ConcurrentHashMap<ContentionKey, KeyStats> keys = new ConcurrentHashMap<>();
+
+        private KeyWindow(long startedAtNanos) {
+            this.startedAtNanos = startedAtNanos;
+        }
+    }
+}
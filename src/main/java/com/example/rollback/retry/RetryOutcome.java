@@ -0,0 +1,88 @@
+package com.example.rollback.retry;
+
+import java.util.function.Function;
+
+/**
+ * 재시도 시도 한 번의 결과입니다. (성공 / 경합으로 재시도 필요 / 재시도 불가 실패)
+ * 예상된 경합(잠긴 행 등)을 예외 대신 값으로 알리므로, 경합이 잦아도 예외 생성과 스택 트레이스 비용이 들지 않습니다.
+ * 실제 DB 오류는 그대로 예외로 던지면 {@link LockRetryTemplate}이 예외 기반으로 판단합니다.
+ *
+ * @see LockRetryTemplate#execute(ContentionKey, RetryableAction, java.util.function.Consumer)
+ */
+public sealed interface RetryOutcome<T> {
+
+    /**
+     * 성공 결과를 생성합니다.
+     */
+    static <T> RetryOutcome<T> success(T value) {
+        return new Success<>(value);
+    }
+
+    /**
+     * 경합(재시도 필요) 결과를 생성합니다.
+     *
+     * @param reason 최종 실패 시 예외 메시지로 쓰이는 사유
+     */
+    static <T> RetryOutcome<T> busy(String reason) {
+        return new Busy<>(reason);
+    }
+
+    /**
+     * 재시도하지 않을 실패 결과를 생성합니다.
+     */
+    static <T> RetryOutcome<T> fatal(RuntimeException error) {
+        return new Fatal<>(error);
+    }
+
+    /**
+     * 성공이면 값을 변환하고, 아니면 같은 결과를 그대로 반환합니다.
+     */
+    @SuppressWarnings("unchecked")
+    default <R> RetryOutcome<R> map(Function<? super T, ? extends R> mapper) {
+        if (this instanceof Success<T> success) {
+            return new Success<>(mapper.apply(success.value()));
+        }
+        return (RetryOutcome<R>) this;
+    }
+
+    /**
+     * 성공이면 값으로 다음 시도 결과를 만들고, 아니면 같은 결과를 그대로 반환합니다.
+     */
+    @SuppressWarnings("unchecked")
+    default <R> RetryOutcome<R> flatMap(Function<? super T, RetryOutcome<R>> mapper) {
+        if (this instanceof Success<T> success) {
+            return mapper.apply(success.value());
+        }
+        return (RetryOutcome<R>) this;
+    }
+
+    /**
+     * 성공이면 값을, 아니면 예외를 던집니다. (경합은 {@link RetryableException})
+     * 결과 대신 예외로 경합을 알리는 기존 호출자용입니다.
+     */
+    default T getOrThrow() {
+        return switch (this) {
+            case Success<T> success -> success.value();
+            case Busy<T> busy -> throw new RetryableException(busy.reason());
+            case Fatal<T> fatal -> throw fatal.error();
+        };
+    }
+
+    /**
+     * 성공
+     */
+    record Success<T>(T value) implements RetryOutcome<T> {
+    }
+
+    /**
+     * 경합으로 재시도 필요
+     */
+    record Busy<T>(String reason) implements RetryOutcome<T> {
+    }
+
+    /**
+     * 재시도 불가 실패
+     */
+    record Fatal<T>(RuntimeException error) implements RetryOutcome<T> {
+    }
+}
@@ -2,6 +2,7 @@ package com.example.rollback.retry;
 
 /**
  * 재시도 정책(여부/대기시간)을 정의합니다.
+ * 경합 키를 받는 메서드는 기본적으로 키 없는 메서드에 위임하며, 키별로 동작을 조정하는 전략만 재정의합니다.
  */
 public interface RetryStrategy {
     
@@ -14,4 +15,32 @@ public interface RetryStrategy {
      * 다음 재시도까지 대기 시간을 계산합니다.
      */
     long getWaitTime(int attemptCount);
+
+    /**
+     * 경합 키 기준으로 재시도 여부를 결정합니다.
+     *
+     * @param key 경합 키 (null 가능)
+     */
+    default boolean shouldRetry(ContentionKey key, Exception ex, int attemptCount) {
+        return shouldRetry(ex, attemptCount);
+    }
+
+    /**
+     * 경합 키 기준으로 다음 재시도까지 대기 시간을 계산합니다.
+     *
+     * @param key 경합 키 (null 가능)
+     * @param previousWaitMs 직전 대기 시간 (첫 재시도면 0)
+     */
+    default long getWaitTime(ContentionKey key, int attemptCount, long previousWaitMs) {
+        return getWaitTime(attemptCount);
+    }
+
+    /**
+     * 작업이 성공했음을 알립니다.
+     *
+     * @param key 경합 키 (null 가능)
+     * @param attemptCount 성공까지 걸린 시도 횟수
+     */
+    default void onSuccess(ContentionKey key, int attemptCount) {
+    }
 } 
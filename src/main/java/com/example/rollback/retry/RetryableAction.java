@@ -0,0 +1,13 @@
+package com.example.rollback.retry;
+
+/**
+ * 결과({@link RetryOutcome})로 경합을 알리는 재시도 작업입니다.
+ */
+@FunctionalInterface
+public interface RetryableAction<T> {
+
+    /**
+     * 작업을 한 번 시도합니다.
+     */
+    RetryOutcome<T> attempt();
+}
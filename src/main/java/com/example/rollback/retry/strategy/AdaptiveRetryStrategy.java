@@ -0,0 +1,198 @@
+package com.example.rollback.retry.strategy;
+
+import com.example.rollback.config.RetryProperties;
+import com.example.rollback.retry.ContentionKey;
+import com.example.rollback.retry.RetryStrategy;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 경합 키(계좌 등)별 최근 성공/실패에 따라 대기 시간과 최대 시도 횟수를 조정하는 재시도 전략입니다. (AIMD)
+ * <ul>
+ *   <li>경합 실패 시 키의 기본 대기 시간을 2배로 늘리고(현재 대기 시간 동안 1회만), 성공 시 일정량씩 줄입니다.</li>
+ *   <li>시도 한도를 다 써서 실패하면 키의 최대 시도 횟수를 절반으로 줄이고, 성공 시 1씩 늘립니다.</li>
+ *   <li>대기 시간은 decorrelated jitter({@code random(기본, 직전 대기 * 3)})로 계산합니다.</li>
+ * </ul>
+ * 경합이 없는 계좌는 거의 바로 재시도하고, 경합이 심한 계좌는 더 길게 물러나며 헛된 시도를 줄입니다.
+ * 추적 키 수가 상한에 닿으면 일부 키만 살펴 가장 오래 쓰이지 않은 키를 제거합니다. (근사 LRU)
+ */
+@Slf4j
+public class AdaptiveRetryStrategy implements RetryStrategy {
+
+    /** 키 없이 호출된 재시도가 공유하는 키 */
+    private static final ContentionKey GLOBAL = new ContentionKey("global", "global", "*");
+
+    /** 추적 키 수가 상한에 닿았을 때 제거 대상을 고르기 위해 살펴보는 키 수 (근사 LRU) */
+    private static final int EVICTION_SAMPLES = 8;
+
+    /** 적응형 재시도 설정 */
+    private final RetryProperties.Adaptive settings;
+
+    /** 재시도 조건 */
+    private final RetryCondition retryCondition;
+
+    /** 경합 키별 상태 */
+    private final ConcurrentHashMap<ContentionKey, KeyState> states = new ConcurrentHashMap<>();
+
+    /**
+     * 생성자입니다.
+     */
+    public AdaptiveRetryStrategy(RetryProperties.Adaptive settings, RetryCondition retryCondition) {
+        this.settings = settings;
+        this.retryCondition = retryCondition;
+        log.info("AdaptiveRetryStrategy 활성화 (대기: {}~{}ms, 시도: {}~{}회)",
+                settings.getMinWaitMs(), settings.getMaxWaitMs(), settings.getMinAttempts(), settings.getMaxAttempts());
+    }
+
+    @Override
+    public boolean shouldRetry(Exception ex, int attemptCount) {
+        return shouldRetry(null, ex, attemptCount);
+    }
+
+    @Override
+    public long getWaitTime(int attemptCount) {
+        return getWaitTime(null, attemptCount, 0);
+    }
+
+    @Override
+    public boolean shouldRetry(ContentionKey key, Exception ex, int attemptCount) {
+        if (!retryCondition.isRetryable(ex)) {
+            log.debug("재시도 조건 불만족 - {} (시도 횟수: {})", ex.getClass().getSimpleName(), attemptCount);
+            return false;
+        }
+
+        KeyState state = stateOf(key);
+        state.onContention(settings);
+
+        if (attemptCount >= state.attemptLimit) {
+            state.onExhausted(settings);
+            log.warn("경합 키 최대 시도 횟수({}) 초과로 중단합니다. - 키: {}", attemptCount, keyOf(key));
+            return false;
+        }
+
+        log.debug("재시도 조건 만족 - {} (시도 횟수: {}/{}, 키: {})",
+                ex.getClass().getSimpleName(), attemptCount, state.attemptLimit, keyOf(key));
+        return true;
+    }
+
+    @Override
+    public long getWaitTime(ContentionKey key, int attemptCount, long previousWaitMs) {
+        long base = stateOf(key).baseWaitMs;
+        long upper = Math.max(base, previousWaitMs * 3);
+        long wait = Math.min(settings.getMaxWaitMs(),
+                upper > base ? ThreadLocalRandom.current().nextLong(base, upper + 1) : base);
+
+        log.debug("재시도 대기 시간 계산: {}ms (시도 횟수: {}, 키 기본 대기: {}ms, 직전 대기: {}ms)",
+                wait, attemptCount, base, previousWaitMs);
+        return wait;
+    }
+
+    @Override
+    public void onSuccess(ContentionKey key, int attemptCount) {
+        KeyState state = states.get(keyOf(key));
+        if (state != null && state.onSuccess(settings)) {
+            // 기본값으로 돌아온 키는 추적하지 않음
+            states.remove(keyOf(key), state);
+        }
+    }
+
+    private KeyState stateOf(ContentionKey key) {
+        ContentionKey k = keyOf(key);
+        KeyState state = states.get(k);
+        if (state != null) {
+            state.touch();
+            return state;
+        }
+        if (states.size() >= settings.getMaxTrackedKeys() && !evictOne()) {
+            // 자리를 만들지 못하면 추적하지 않고 기본값 상태로 처리
+            return new KeyState(settings);
+        }
+        return states.computeIfAbsent(k, unused -> new KeyState(settings));
+    }
+
+    /**
+     * 앞쪽 몇 개 키만 살펴보고, 기본값 상태인 키나 가장 오래 쓰이지 않은 키 하나를 제거합니다. (근사 LRU)
+     * 전체 키를 훑지 않으므로 추적 키 수와 관계없이 비용이 일정합니다.
+     *
+     * @return 키를 제거했는지 여부
+     */
+    private boolean evictOne() {
+        Map.Entry<ContentionKey, KeyState> victim = null;
+        Iterator<Map.Entry<ContentionKey, KeyState>> iterator = states.entrySet().iterator();
+        for (int i = 0; i < EVICTION_SAMPLES && iterator.hasNext(); i++) {
+            Map.Entry<ContentionKey, KeyState> entry = iterator.next();
+            if (entry.getValue().isBaseline(settings)) {
+                victim = entry;
+                break;
+            }
+            if (victim == null || entry.getValue().lastUsedNanos - victim.getValue().lastUsedNanos < 0) {
+                victim = entry;
+            }
+        }
+        return victim != null && states.remove(victim.getKey(), victim.getValue());
+    }
+
+    private static ContentionKey keyOf(ContentionKey key) {
+        return key != null ? key : GLOBAL;
+    }
+
+    /**
+     * 경합 키 하나의 현재 기본 대기 시간과 최대 시도 횟수입니다.
+     * 근사치면 충분하므로 갱신 경합은 허용합니다.
+     */
+    private static final class KeyState {
+        private volatile long baseWaitMs;
+        private volatile int attemptLimit;
+        private volatile long lastIncreaseNanos;
+        private volatile long lastUsedNanos = System.nanoTime();
+
+        private KeyState(RetryProperties.Adaptive settings) {
+            this.baseWaitMs = settings.getMinWaitMs();
+            this.attemptLimit = settings.getMaxAttempts();
+            // 첫 경합은 바로 반영되도록 직전 증가 시각을 충분히 과거로 설정
+            this.lastIncreaseNanos = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(settings.getMaxWaitMs());
+        }
+
+        private void touch() {
+            lastUsedNanos = System.nanoTime();
+        }
+
+        /**
+         * 경합 실패: 대기 시간 2배 (곱셈 증가)
+         * 동시에 실패한 요청들이 한꺼번에 올리지 않도록, 직전 증가 후 현재 대기 시간이 지나야 다시 올립니다.
+         */
+        private void onContention(RetryProperties.Adaptive settings) {
+            long now = System.nanoTime();
+            if (now - lastIncreaseNanos < TimeUnit.MILLISECONDS.toNanos(baseWaitMs)) {
+                return;
+            }
+            lastIncreaseNanos = now;
+            baseWaitMs = Math.min(settings.getMaxWaitMs(), Math.max(1, baseWaitMs * 2));
+        }
+
+        /** 시도 한도 소진: 최대 시도 횟수 절반 (곱셈 감소) */
+        private void onExhausted(RetryProperties.Adaptive settings) {
+            attemptLimit = Math.max(settings.getMinAttempts(), attemptLimit / 2);
+        }
+
+        /**
+         * 성공: 대기 시간 감소, 최대 시도 횟수 1 증가 (덧셈)
+         *
+         * @return 기본값으로 돌아왔는지 여부
+         */
+        private boolean onSuccess(RetryProperties.Adaptive settings) {
+            baseWaitMs = Math.max(settings.getMinWaitMs(), baseWaitMs - settings.getDecreaseStepMs());
+            attemptLimit = Math.min(settings.getMaxAttempts(), attemptLimit + 1);
+            return isBaseline(settings);
+        }
+
+        private boolean isBaseline(RetryProperties.Adaptive settings) {
+            return baseWaitMs <= settings.getMinWaitMs() && attemptLimit >= settings.getMaxAttempts();
+        }
+    }
+}
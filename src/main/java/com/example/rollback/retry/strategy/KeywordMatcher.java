@@ -0,0 +1,139 @@
+package com.example.rollback.retry.strategy;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * 여러 키워드를 한 번의 문자열 순회로 찾는 대소문자 무시 다중 패턴 매처입니다. (Aho-Corasick)
+ * 생성 시 전이표와 대소문자 접기를 모두 계산해 두므로 검색 중에는 문자마다 표 조회만 하고 객체를 할당하지 않습니다.
+ * 키워드마다 플래그(비트)를 지정하고, 검색 결과로 발견된 플래그의 합을 돌려줍니다.
+ */
+final class KeywordMatcher {
+
+    /** 키워드에 없는 문자가 쓰는 열 */
+    private static final int OTHER = 0;
+
+    /** 문자 → 전이표 열 번호 (대소문자를 접으면 같은 문자는 같은 열) */
+    private final char[] columns = new char[Character.MAX_VALUE + 1];
+
+    /** 전이표 열 수 */
+    private final int width;
+
+    /** 상태 × 열 전이표 */
+    private final int[] transitions;
+
+    /** 상태별 매칭 플래그 (실패 링크를 따라 합친 값) */
+    private final int[] outputs;
+
+    /**
+     * 키워드(키)와 플래그(값)로 매처를 생성합니다.
+     */
+    KeywordMatcher(Map<String, Integer> keywords) {
+        // 1. 키워드 문자로 열 번호 부여
+        int nextColumn = 1;
+        for (String keyword : keywords.keySet()) {
+            if (keyword == null || keyword.isEmpty()) {
+                throw new IllegalArgumentException("재시도 키워드는 비어 있을 수 없습니다");
+            }
+            for (int i = 0; i < keyword.length(); i++) {
+                char c = fold(keyword.charAt(i));
+                if (columns[c] == OTHER) {
+                    columns[c] = (char) nextColumn++;
+                }
+            }
+        }
+        this.width = nextColumn;
+        // 대문자 등 접으면 키워드 문자가 되는 문자도 같은 열로 (검색 중 접기 생략)
+        for (int c = 0; c <= Character.MAX_VALUE; c++) {
+            char folded = fold((char) c);
+            if (folded != c && columns[folded] != OTHER) {
+                columns[c] = columns[folded];
+            }
+        }
+
+        // 2. 키워드 트라이 구성
+        List<int[]> trie = new ArrayList<>();
+        List<Integer> flags = new ArrayList<>();
+        trie.add(newRow());
+        flags.add(0);
+        for (Map.Entry<String, Integer> entry : keywords.entrySet()) {
+            int state = 0;
+            String keyword = entry.getKey();
+            for (int i = 0; i < keyword.length(); i++) {
+                int column = columns[fold(keyword.charAt(i))];
+                if (trie.get(state)[column] < 0) {
+                    trie.get(state)[column] = trie.size();
+                    trie.add(newRow());
+                    flags.add(0);
+                }
+                state = trie.get(state)[column];
+            }
+            flags.set(state, flags.get(state) | entry.getValue());
+        }
+
+        // 3. 실패 링크를 너비 우선으로 계산하며 완전한 전이표(DFA)로 변환
+        int states = trie.size();
+        this.transitions = new int[states * width];
+        this.outputs = new int[states];
+        int[] failure = new int[states];
+        Queue<Integer> queue = new ArrayDeque<>();
+
+        outputs[0] = flags.get(0);
+        for (int column = 0; column < width; column++) {
+            int next = trie.get(0)[column];
+            if (next < 0) {
+                transitions[column] = 0;
+            } else {
+                transitions[column] = next;
+                failure[next] = 0;
+                queue.add(next);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            outputs[state] = flags.get(state) | outputs[failure[state]];
+            for (int column = 0; column < width; column++) {
+                int next = trie.get(state)[column];
+                int fallback = transitions[failure[state] * width + column];
+                if (next < 0) {
+                    transitions[state * width + column] = fallback;
+                } else {
+                    transitions[state * width + column] = next;
+                    failure[next] = fallback;
+                    queue.add(next);
+                }
+            }
+        }
+    }
+
+    /**
+     * 문자열에서 발견된 키워드 플래그의 합을 반환합니다.
+     * {@code stopFlags} 중 하나라도 발견되면 나머지는 보지 않고 바로 반환합니다.
+     */
+    int match(String text, int stopFlags) {
+        int found = 0;
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            state = transitions[state * width + columns[text.charAt(i)]];
+            found |= outputs[state];
+            if ((found & stopFlags) != 0) {
+                return found;
+            }
+        }
+        return found;
+    }
+
+    private int[] newRow() {
+        int[] row = new int[width];
+        Arrays.fill(row, -1);
+        return row;
+    }
+
+    private static char fold(char c) {
+        return Character.toLowerCase(c);
+    }
+}
@@ -1,14 +1,25 @@
 package com.example.rollback.retry.strategy;
 
+import com.example.rollback.config.RetryProperties;
 import com.example.rollback.retry.RetryableException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 재시도 대상 예외인지 판단합니다.
- * (락/데드락/명시적 재시도 예외)
+ * (락/데드락/낙관적 락 충돌/명시적 재시도 예외)
+ * <p>
+ * 실패 경로마다 호출되므로 판단 과정에서 객체를 할당하지 않습니다.
+ * 예외 타입 판단은 클래스별로 캐시하고, 알려진 락/데드락 SQL 오류 코드는 메시지 없이 판단합니다.
+ * 그 밖의 예외는 미리 만든 다중 패턴 매처로 메시지 키워드를 대소문자 구분 없이 한 번에 찾습니다.
+ * (같은 오류 코드라도 메시지에 따라 판단이 달라질 수 있으므로 메시지로 판단한 결과는 캐시하지 않음)
  */
 @Slf4j
 @Component
@@ -16,6 +27,7 @@ public class RetryCondition {
 
     /**
      * 락 충돌을 식별하는 메시지 키워드 목록입니다.
+     * ({@code banking.retry.condition.extra-keywords}로 추가 가능)
      */
     private static final List<String> KEYWORDS = List.of(
         "ora-00054",                    // 오라클
@@ -26,8 +38,72 @@ public class RetryCondition {
         "could not obtain lock"         // 락 획득 실패
     );
 
+    /** 데드락 키워드 (최상위 예외 메시지에서만 확인) */
+    private static final String DEADLOCK_KEYWORD = "deadlock";
+
+    /** 판단 결과: 재시도 대상 아님 */
+    private static final byte NONE = 0;
+
+    /** 판단 결과: 데드락 키워드만 발견 (최상위 예외일 때만 재시도) */
+    private static final byte DEADLOCK = 1;
+
+    /** 판단 결과: 재시도 대상 (예외 타입 또는 락 키워드) */
+    private static final byte RETRYABLE = 2;
+
+    /** 매처 플래그: 락 키워드 */
+    private static final int LOCK_FLAG = 1;
+
+    /** 매처 플래그: 데드락 키워드 */
+    private static final int DEADLOCK_FLAG = 2;
+
+    /** 예외 클래스별 재시도 대상 타입 여부 */
+    private static final ClassValue<Boolean> RETRYABLE_TYPES = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return PessimisticLockingFailureException.class.isAssignableFrom(type)
+                    || OptimisticLockingFailureException.class.isAssignableFrom(type)
+                    || RetryableException.class.isAssignableFrom(type);
+        }
+    };
+
+    /** 메시지와 관계없이 판단할 수 있는 SQL 오류 (PostgreSQL은 오류 코드가 없어 0) */
+    private static final KnownSqlError[] KNOWN_SQL_ERRORS = {
+        new KnownSqlError("HYT00", 50200, RETRYABLE),   // H2 락 타임아웃
+        new KnownSqlError("40001", 40001, DEADLOCK),    // H2 데드락
+        new KnownSqlError("55P03", 0, RETRYABLE),       // PostgreSQL lock_not_available
+        new KnownSqlError("40P01", 0, DEADLOCK),        // PostgreSQL 데드락
+        new KnownSqlError("HY000", 1205, RETRYABLE),    // MySQL 락 대기 시간 초과
+        new KnownSqlError("HY000", 3572, RETRYABLE),    // MySQL NOWAIT 락 실패
+        new KnownSqlError("40001", 1213, DEADLOCK),     // MySQL 데드락
+        new KnownSqlError("61000", 54, RETRYABLE),      // 오라클 ORA-00054 (NOWAIT 리소스 사용 중)
+        new KnownSqlError("61000", 60, DEADLOCK)        // 오라클 ORA-00060 데드락
+    };
+
+    /** 락/데드락 키워드 매처 */
+    private final KeywordMatcher matcher;
+
+    /**
+     * 생성자입니다.
+     */
+    public RetryCondition(RetryProperties retryProperties) {
+        RetryProperties.Condition settings = retryProperties.getCondition();
+
+        Map<String, Integer> keywords = new LinkedHashMap<>();
+        for (String keyword : KEYWORDS) {
+            keywords.merge(keyword, LOCK_FLAG, (a, b) -> a | b);
+        }
+        for (String keyword : settings.getExtraKeywords()) {
+            keywords.merge(keyword, LOCK_FLAG, (a, b) -> a | b);
+        }
+        keywords.merge(DEADLOCK_KEYWORD, DEADLOCK_FLAG, (a, b) -> a | b);
+
+        this.matcher = new KeywordMatcher(keywords);
+        log.info("재시도 조건 키워드 {}개 등록 (추가: {})", keywords.size(), settings.getExtraKeywords());
+    }
+
     /**
      * 재시도 가능 여부를 판단합니다.
+     * 최상위 예외는 데드락 키워드까지, 원인 예외는 타입과 락 키워드만 확인합니다.
      */
     public boolean isRetryable(Throwable t) {
         if (t == null) {
@@ -35,66 +111,63 @@ public class RetryCondition {
             return false;
         }
 
-        // 데드락
-        if (isDeadlockRetryable(t)) {
+        // 최상위 예외: 데드락 포함
+        byte verdict = classify(t);
+        if (verdict != NONE) {
+            log.debug("재시도 조건 감지({}) - {} 재시도 가능",
+                    verdict == DEADLOCK ? "데드락" : "락", t.getClass().getSimpleName());
             return true;
         }
 
-        // 락 충돌
-        return isLockRetryable(t);
+        // 원인 예외 탐색 (순환 참조 방지를 위해 자기 자신이 원인이면 중단)
+        for (Throwable cause = t.getCause(); cause != null; cause = next(cause)) {
+            if (classify(cause) == RETRYABLE) {
+                log.debug("원인 예외에서 락 관련 조건 발견({}) - 재시도 가능", cause.getClass().getSimpleName());
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
-     * 데드락 여부를 확인합니다.
+     * 예외 하나(원인 제외)의 판단 결과를 반환합니다.
      */
-    private boolean isDeadlockRetryable(Throwable t) {
-        if (t == null || t.getMessage() == null) {
-            return false;
+    private byte classify(Throwable t) {
+        if (RETRYABLE_TYPES.get(t.getClass())) {
+            return RETRYABLE;
         }
-
-        String message = t.getMessage().toLowerCase();
-        boolean isDeadlock = message.contains("deadlock");
-
-        if (isDeadlock) {
-            log.debug("데드락 키워드 감지 '{}' - 재시도 가능", message);
+        if (t instanceof SQLException sql) {
+            for (KnownSqlError known : KNOWN_SQL_ERRORS) {
+                if (known.errorCode() == sql.getErrorCode() && known.sqlState().equals(sql.getSQLState())) {
+                    return known.verdict();
+                }
+            }
         }
-        return isDeadlock;
+        return classifyMessage(t.getMessage());
     }
 
     /**
-     * 락 충돌 여부를 확인합니다. (원인 예외까지 재귀 탐색)
+     * 메시지에서 락/데드락 키워드를 찾습니다.
      */
-    private boolean isLockRetryable(Throwable t) {
-        if (t == null) {
-            return false;
-        }
-
-        // 예외 타입
-        if (t instanceof PessimisticLockingFailureException) {
-            log.debug("PessimisticLockingFailureException 감지 - 재시도 가능");
-            return true;
-        }
-
-        if (t instanceof RetryableException) {
-            log.debug("RetryableException 감지 - 재시도 가능");
-            return true;
+    private byte classifyMessage(String message) {
+        if (message == null) {
+            return NONE;
         }
-
-        // 메시지 키워드
-        String msg = (t.getMessage() != null ? t.getMessage() : "").toLowerCase();
-        boolean hasKeyword = KEYWORDS.stream().anyMatch(msg::contains);
-
-        if (hasKeyword) {
-            log.debug("락 관련 키워드 감지 '{}' - 재시도 가능", msg);
-            return true;
+        int found = matcher.match(message, LOCK_FLAG);
+        if ((found & LOCK_FLAG) != 0) {
+            return RETRYABLE;
         }
+        return (found & DEADLOCK_FLAG) != 0 ? DEADLOCK : NONE;
+    }
 
-        // 원인 예외 재귀 탐색
-        boolean causeRetryable = isLockRetryable(t.getCause());
-        if (causeRetryable) {
-            log.debug("원인 예외에서 락 관련 조건 발견 - 재시도 가능");
-        }
+    private static Throwable next(Throwable t) {
+        Throwable cause = t.getCause();
+        return cause != t ? cause : null;
+    }
 
-        return causeRetryable;
+    /**
+     * 오류 코드만으로 판단할 수 있는 SQL 오류입니다.
+     */
+    private record KnownSqlError(String sqlState, int errorCode, byte verdict) {
     }
 }
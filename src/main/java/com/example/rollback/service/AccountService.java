@@ -1,23 +1,35 @@
 package com.example.rollback.service;
 
 import com.example.rollback.aop.MeasuredExecutionTime;
+import com.example.rollback.config.DepositProperties;
 import com.example.rollback.domain.Account;
 import com.example.rollback.domain.DepositRequest;
 import com.example.rollback.domain.Transaction;
 import com.example.rollback.event.TransactionFailed;
+import com.example.rollback.lock.LockAcquisitionPolicy;
+import com.example.rollback.lock.LockPolicyRegistry;
 import com.example.rollback.repository.AccountRepository;
 import com.example.rollback.repository.TransactionRepository;
-import com.example.rollback.retry.RetryableException;
 import com.example.rollback.util.ContextHolder;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
 import org.slf4j.MDC;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.example.rollback.retry.AccountCircuitBreaker;
+import com.example.rollback.retry.CircuitOpenException;
+import com.example.rollback.retry.ContentionKey;
 import com.example.rollback.retry.LockRetryTemplate;
+import com.example.rollback.retry.RetryOutcome;
+import com.example.rollback.retry.RetryableAction;
 
+import java.math.BigDecimal;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * 계좌 관련 핵심 로직(입금 등)을 처리합니다.
@@ -27,6 +39,12 @@ import java.util.concurrent.atomic.AtomicReference;
 @RequiredArgsConstructor
 public class AccountService {
 
+    /** 락 정책 설정에서 사용하는 입금 작업 이름 */
+    private static final String DEPOSIT_OPERATION = "deposit";
+
+    /** 락 정책 설정에서 사용하는 계좌 상태 변경 작업 이름 */
+    private static final String ACCOUNT_STATUS_OPERATION = "account-status";
+
     /** 계좌 저장소 */
     private final AccountRepository accountRepository;
 
@@ -39,10 +57,32 @@ public class AccountService {
     /** 락/경합 재시도 템플릿 */
     private final LockRetryTemplate lockRetryTemplate;
 
+    /** 작업별 락 정책 */
+    private final LockPolicyRegistry lockPolicyRegistry;
+
+    /** 입금 처리 방식 설정 */
+    private final DepositProperties depositProperties;
+
+    /** 입금 합치기 처리기 */
+    private final DepositCoalescer depositCoalescer;
+
+    /** 계좌별 단일 작성자 실행기 */
+    private final DepositMailbox depositMailbox;
+
+    /** 분할 잔액 계좌 서비스 */
+    private final StripedBalanceService stripedBalanceService;
+
+    /** 입금 트랜잭션 템플릿 */
+    private final TransactionTemplate transactionTemplate;
+
+    /** 계좌별 회로 차단기 */
+    private final AccountCircuitBreaker circuitBreaker;
+
     /**
      * 입금을 처리합니다.
+     * 트랜잭션 경계는 모드별로 정합니다. (COALESCED/MAILBOX는 대기 중인 호출 스레드가 커넥션을 잡지 않도록 실행 스레드에서 트랜잭션을 엽니다)
+     * ROW_LOCK과 분할 잔액 입금은 {@code banking.deposit.retry-boundary}에 따라 시도마다 또는 전체를 한 트랜잭션으로 실행합니다.
      */
-    @Transactional
     @MeasuredExecutionTime("입금 처리")
     public Transaction deposit(DepositRequest request) {
         String guid = ContextHolder.getCurrentGuid();
@@ -52,7 +92,6 @@ public class AccountService {
 
         lastTransactionId.set(null);
 
-        Transaction transaction;
         log.info("입금 처리 시작 - 계좌ID: {}, 금액: {}", request.getAccountId(), request.getAmount());
 
         if (request.isForceFailure()) {
@@ -60,60 +99,226 @@ public class AccountService {
             throw new RuntimeException("테스트를 위한 강제 입금 실패");
         }
 
+        // 분할 잔액 계좌는 모드와 관계없이 분할 행에 입금
+        if (stripedBalanceService.isStriped(request.getAccountId())) {
+            return publishFailure(lastTransactionId, () -> depositToStripe(request, guid, lastTransactionId));
+        }
 
+        DepositProperties.Mode mode = depositProperties.getMode();
+        if (mode == DepositProperties.Mode.COALESCED) {
+            return publishFailure(lastTransactionId, () -> depositCoalescer.deposit(request, guid));
+        }
+        if (mode == DepositProperties.Mode.MAILBOX) {
+            // 같은 계좌 입금은 한 스레드에서 순서대로 실행되므로 락 조회/재시도 없이 원자 증가로 반영
+            return publishFailure(lastTransactionId, () -> depositMailbox.execute(request.getAccountId(),
+                    () -> transactionTemplate.execute(status ->
+                            depositWithAtomicIncrement(request, guid, lastTransactionId))));
+        }
 
-        try {
+        if (mode == DepositProperties.Mode.ATOMIC_INCREMENT) {
+            return transactionTemplate.execute(status -> publishFailure(lastTransactionId,
+                    () -> depositWithAtomicIncrement(request, guid, lastTransactionId)));
+        }
 
-        // 계좌 확인 (락/경합 시 재시도)
-        Account account = lockRetryTemplate.execute(
-                () -> loadAccountForDeposit(request.getAccountId()),
-                (ex) -> events.publishEvent(new TransactionFailed(
-                        ContextHolder.copyContext().asReadOnlyMap(),
-                        lastTransactionId.get(),
-                        ex.getClass().getSimpleName())));
+        return publishFailure(lastTransactionId, () -> depositWithRowLock(request, guid, lastTransactionId));
+    }
 
-        if (!account.isActive()) {
-            throw new IllegalStateException("계좌가 활성 상태가 아닙니다");
+    /**
+     * 계좌 상태를 변경합니다. (동결/활성화)
+     * 설정된 락 정책({@code banking.lock.policies.account-status})으로 반영하며, 충돌 시 새 트랜잭션에서 조회부터 다시 시도합니다.
+     *
+     * @return 변경된 계좌 정보 (계좌가 없으면 null)
+     */
+    public Account changeStatus(Long accountId, Consumer<Account> statusAction) {
+        LockAcquisitionPolicy lockPolicy = lockPolicyRegistry.forOperation(ACCOUNT_STATUS_OPERATION);
+        if (accountRepository.findById(accountId) == null) {
+            return null;
         }
-                    
-            // 2. 거래 생성
-            transaction = request.toTransaction(guid);
-            transactionRepository.save(transaction);
-            lastTransactionId.set(transaction.getId());
-            log.info("거래 생성 완료 - 거래ID: {}", transaction.getId());
 
-            // 3. 결제 연동(제거됨)
+        RetryableAction<Account> update = () -> lockPolicy.tryAcquire(accountId).map(account -> {
+            statusAction.accept(account);
+            lockPolicy.writeStatus(account);
+            return account;
+        });
+        lockRetryTemplate.executeInTransaction(ContentionKey.account(ACCOUNT_STATUS_OPERATION, accountId), update, null);
 
-            // 4. 계좌 잔액 업데이트
-            account.deposit(request.getAmount());
-            accountRepository.updateBalance(account);
-
-            // 5. 거래 완료 처리
-            transaction.complete();
-            transactionRepository.updateStatus(transaction.getId(), "COMPLETED");
+        // 조회 잔액(분할 잔액 합계 포함)으로 반환
+        return accountRepository.findById(accountId);
+    }
 
-            log.info("입금 처리 완료 - 계좌: {}, 금액: {}", account.getAccountNumber(), request.getAmount());
-            return transaction;
-        } catch (Exception ex) {
-            events.publishEvent(new TransactionFailed(
-                    ContextHolder.copyContext().asReadOnlyMap(),
-                    lastTransactionId.get(),
-                    ex.getClass().getSimpleName()));
+    /**
+     * 입금 처리 중 예외가 나면 실패 이벤트를 한 번 발행한 뒤 원래 예외를 다시 던집니다.
+     * 이벤트 발행이 실패해도(알림 실행기 포화로 인한 {@link TaskRejectedException} 등) 요청의 예외를 바꾸지 않습니다.
+     * 회로 차단 거절({@link CircuitOpenException})은 발행하지 않습니다. 한 계좌로 몰린 거절이 공유 알림 실행기를 채워
+     * 다른 계좌의 실패 알림이 거절되지 않도록 하며, 회로를 연 실패는 이미 각자 발행되었습니다.
+     */
+    private Transaction publishFailure(AtomicReference<Long> lastTransactionId, Supplier<Transaction> action) {
+        try {
+            return action.get();
+        } catch (CircuitOpenException ex) {
+            throw ex;
+        } catch (RuntimeException ex) {
+            try {
+                events.publishEvent(new TransactionFailed(
+                        ContextHolder.copyContext(),
+                        lastTransactionId.get(),
+                        ex.getClass().getSimpleName()));
+            } catch (RuntimeException publishEx) {
+                log.warn("실패 이벤트 발행 실패 - 원인 예외: {}, 발행 예외: {}",
+                        ex.getClass().getSimpleName(), publishEx.getClass().getSimpleName());
+                ex.addSuppressed(publishEx);
+            }
             throw ex;
         }
     }
 
-    private Account loadAccountForDeposit(Long accountId) {
-        Account locked = accountRepository.findByIdForUpdateSkipLocked(accountId);
-        if (locked != null) {
-            return locked;
+    /**
+     * 설정된 락 정책({@code banking.lock.policies.deposit})으로 계좌를 확보하고 Java에서 잔액을 계산해 반영합니다.
+     */
+    private Transaction depositWithRowLock(DepositRequest request, String guid,
+            AtomicReference<Long> lastTransactionId) {
+        LockAcquisitionPolicy lockPolicy = lockPolicyRegistry.forOperation(DEPOSIT_OPERATION);
+
+        return retryDeposit(request.getAccountId(),
+                // 1. 계좌 확보 및 잔액 반영 (락/경합/충돌 시 재시도)
+                () -> lockPolicy.tryAcquire(request.getAccountId()).map(acquired -> {
+                    if (!acquired.isActive()) {
+                        throw new IllegalStateException("계좌가 활성 상태가 아닙니다");
+                    }
+                    acquired.deposit(request.getAmount());
+                    lockPolicy.writeBalance(acquired);
+                    return acquired;
+                }),
+                account -> {
+                    // 2. 결제 연동(제거됨)
+
+                    // 3. 거래 기록 (완료 상태로 1회 INSERT)
+                    Transaction transaction = saveCompletedTransaction(request, guid, lastTransactionId);
+
+                    log.info("입금 처리 완료({}) - 계좌: {}, 금액: {}",
+                            lockPolicy.type(), account.getAccountNumber(), request.getAmount());
+                    return transaction;
+                });
+    }
+
+    /**
+     * 락 조회 없이 조건부 UPDATE 한 번으로 잔액을 반영합니다.
+     * 행 락은 UPDATE 문장 동안만 유지되므로 SKIP LOCKED 미스/재시도 대기가 발생하지 않습니다.
+     */
+    private Transaction depositWithAtomicIncrement(DepositRequest request, String guid,
+            AtomicReference<Long> lastTransactionId) {
+        BigDecimal amount = request.getAmount();
+        if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("금액은 0보다 커야 합니다");
+        }
+
+        // 1. 잔액 원자 증가 (활성 계좌만)
+        Account account = accountRepository.incrementBalance(request.getAccountId(), amount);
+        if (account == null) {
+            if (accountRepository.findById(request.getAccountId()) == null) {
+                throw new IllegalArgumentException("계좌를 찾을 수 없습니다: " + request.getAccountId());
+            }
+            throw new IllegalStateException("계좌가 활성 상태가 아닙니다");
+        }
+
+        // 2. 거래 기록 (완료 상태로 1회 INSERT)
+        Transaction transaction = saveCompletedTransaction(request, guid, lastTransactionId);
+
+        log.info("입금 처리 완료(원자 증가) - 계좌: {}, 금액: {}, 신규잔액: {}",
+                account.getAccountNumber(), amount, account.getBalance());
+        return transaction;
+    }
+
+    /**
+     * 분할 잔액 계좌에 입금합니다. 잠기지 않은 분할 행 하나만 갱신하므로 기본 계좌 행을 잠그지 않습니다.
+     */
+    private Transaction depositToStripe(DepositRequest request, String guid,
+            AtomicReference<Long> lastTransactionId) {
+        BigDecimal amount = request.getAmount();
+        if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("금액은 0보다 커야 합니다");
         }
 
-        Account exists = accountRepository.findById(accountId);
-        if (exists == null) {
-            throw new IllegalArgumentException("계좌를 찾을 수 없습니다: " + accountId);
+        return retryDeposit(request.getAccountId(),
+                // 1. 분할 행 입금 (모든 분할이 사용 중이면 재시도)
+                () -> stripedBalanceService.deposit(request.getAccountId(), amount),
+                stripeNo -> {
+                    // 2. 거래 기록 (완료 상태로 1회 INSERT)
+                    Transaction transaction = saveCompletedTransaction(request, guid, lastTransactionId);
+
+                    log.info("입금 처리 완료(분할 잔액) - 계좌ID: {}, 분할: {}, 금액: {}",
+                            request.getAccountId(), stripeNo, amount);
+                    return transaction;
+                });
+    }
+
+    /**
+     * 재시도 경계 설정에 따라 입금을 실행합니다.
+     * ATTEMPT는 시도마다 새 트랜잭션에서 {@code retried}와 {@code complete}를 함께 실행하고,
+     * TRANSACTION은 한 트랜잭션 안에서 {@code retried}만 재시도한 뒤 {@code complete}를 실행합니다.
+     * 계좌 회로가 열려 있으면 재시도 루프에 들어가지 않고 바로 {@link CircuitOpenException}을 던집니다.
+     * 회로에는 잔액 반영 단계(계좌 락)에서 끝난 실패만 계좌 실패로 알리고, 예외 종류와 관계없이 결과를 한 번 알립니다.
+     *
+     * @param accountId 입금 계좌 ID (경합 키, 회로 차단 단위)
+     * @param retried 락/경합 시 재시도할 잔액 반영 단계 (경합은 결과로 알림)
+     * @param complete 잔액 반영 이후 거래 기록 단계
+     */
+    private <A> Transaction retryDeposit(Long accountId, RetryableAction<A> retried,
+            Function<A, Transaction> complete) {
+        circuitBreaker.checkPermission(accountId);
+
+        // 실패 이벤트는 호출자(publishFailure)가 한 번만 발행
+        ContentionKey key = ContentionKey.account(DEPOSIT_OPERATION, accountId);
+
+        // 마지막 시도가 잔액 반영 단계에서 끝났는지 (null: 시도 전, true: 잔액 반영 실패/경합, false: 잔액 반영 성공)
+        AtomicReference<Boolean> failedInAccountStep = new AtomicReference<>();
+        RetryableAction<A> tracked = () -> {
+            failedInAccountStep.set(true);
+            RetryOutcome<A> outcome = retried.attempt();
+            failedInAccountStep.set(!(outcome instanceof RetryOutcome.Success));
+            return outcome;
+        };
+
+        try {
+            Transaction transaction;
+            if (depositProperties.getRetryBoundary() == DepositProperties.RetryBoundary.ATTEMPT) {
+                RetryableAction<Transaction> attempt = () -> tracked.attempt().map(complete);
+                transaction = lockRetryTemplate.executeInTransaction(key, attempt, null);
+            } else {
+                transaction = transactionTemplate.execute(status ->
+                        complete.apply(lockRetryTemplate.execute(key, tracked, null)));
+            }
+            circuitBreaker.onSuccess(accountId);
+            return transaction;
+        } catch (RuntimeException ex) {
+            Boolean accountStep = failedInAccountStep.get();
+            if (accountStep == null) {
+                circuitBreaker.onIgnored(accountId);
+            } else if (accountStep) {
+                circuitBreaker.onFailure(accountId, ex);
+            } else {
+                // 계좌 락은 확보했고 이후 단계(거래 기록 등)에서 실패
+                circuitBreaker.onSuccess(accountId);
+            }
+            throw ex;
+        } catch (Error error) {
+            // 시험 요청이 HALF_OPEN에 남지 않도록 결과 미반영으로 알림
+            circuitBreaker.onIgnored(accountId);
+            throw error;
         }
+    }
 
-        throw new RetryableException("account busy");
+    /**
+     * 잔액 반영이 끝난 뒤 거래를 최종 상태(COMPLETED, 완료일시 포함)로 한 번만 기록합니다.
+     * 같은 트랜잭션 안에서 실행되므로 이후 실패 시 잔액 변경과 함께 롤백됩니다.
+     */
+    private Transaction saveCompletedTransaction(DepositRequest request, String guid,
+            AtomicReference<Long> lastTransactionId) {
+        Transaction transaction = request.toTransaction(guid);
+        transaction.complete();
+        transactionRepository.save(transaction);
+        lastTransactionId.set(transaction.getId());
+        log.info("거래 생성 완료 - 거래ID: {}", transaction.getId());
+        return transaction;
     }
 }
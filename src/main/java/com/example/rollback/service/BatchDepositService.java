@@ -0,0 +1,314 @@
+package com.example.rollback.service;
+
+import com.example.rollback.aop.MeasuredExecutionTime;
+import com.example.rollback.config.DepositProperties;
+import com.example.rollback.domain.Account;
+import com.example.rollback.domain.BatchDepositResult;
+import com.example.rollback.domain.BatchFailureMode;
+import com.example.rollback.domain.DepositItemResult;
+import com.example.rollback.domain.DepositRequest;
+import com.example.rollback.domain.Transaction;
+import com.example.rollback.repository.AccountRepository;
+import com.example.rollback.repository.TransactionRepository;
+import com.example.rollback.retry.ContentionKey;
+import com.example.rollback.retry.LockRetryTemplate;
+import com.example.rollback.retry.RetryOutcome;
+import com.example.rollback.retry.RetryableAction;
+import com.example.rollback.util.GuidQueueUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * 대량 입금을 MyBatis BATCH 실행기로 처리합니다.
+ * 거래 INSERT와 잔액 UPDATE를 JDBC 배치로 묶어 건당 왕복 없이 전송하고, 건별 결과를 반환합니다.
+ */
+@Slf4j
+@Service
+public class BatchDepositService {
+
+    /** 재시도 지표에서 사용하는 일괄 입금 작업 이름 */
+    private static final String BATCH_DEPOSIT_OPERATION = "deposit-batch";
+
+    /** BATCH 실행기 세션 (한 트랜잭션 안에서는 이 세션으로만 DB에 접근) */
+    private final SqlSessionTemplate batchSqlSession;
+
+    /** BATCH 세션에 바인딩된 계좌 매퍼 */
+    private final AccountRepository batchAccountRepository;
+
+    /** BATCH 세션에 바인딩된 거래 매퍼 */
+    private final TransactionRepository batchTransactionRepository;
+
+    /** 일괄 입금 트랜잭션 템플릿 */
+    private final TransactionTemplate transactionTemplate;
+
+    /** 락/경합 재시도 템플릿 */
+    private final LockRetryTemplate lockRetryTemplate;
+
+    /** 건별 거래 GUID 발급기 */
+    private final GuidQueueUtil guidQueueUtil;
+
+    /** 일괄 입금 설정 */
+    private final DepositProperties.Batch settings;
+
+    /**
+     * 생성자입니다.
+     */
+    public BatchDepositService(SqlSessionFactory sqlSessionFactory, TransactionTemplate transactionTemplate,
+            LockRetryTemplate lockRetryTemplate, GuidQueueUtil guidQueueUtil, DepositProperties depositProperties) {
+        this.batchSqlSession = new SqlSessionTemplate(sqlSessionFactory, ExecutorType.BATCH);
+        this.batchAccountRepository = batchSqlSession.getMapper(AccountRepository.class);
+        this.batchTransactionRepository = batchSqlSession.getMapper(TransactionRepository.class);
+        this.transactionTemplate = transactionTemplate;
+        this.lockRetryTemplate = lockRetryTemplate;
+        this.guidQueueUtil = guidQueueUtil;
+        this.settings = depositProperties.getBatch();
+    }
+
+    /**
+     * 입금 목록을 한 트랜잭션에서 일괄 처리합니다.
+     *
+     * @param requests 입금 요청 목록
+     * @param failureMode 부분 실패 처리 방식 (null이면 설정값)
+     * @return 건별 결과와 요약
+     */
+    @MeasuredExecutionTime("일괄 입금 처리")
+    public BatchDepositResult depositBatch(List<DepositRequest> requests, BatchFailureMode failureMode) {
+        BatchFailureMode mode = failureMode != null ? failureMode : settings.getFailureMode();
+        log.info("일괄 입금 시작 - 건수: {}, 실패 처리: {}", requests.size(), mode);
+
+        BatchDepositResult result = transactionTemplate.execute(status -> {
+            Map<Long, Account> accounts = lockAccounts(requests);
+
+            // 1. 건별 검증
+            String[] errors = new String[requests.size()];
+            boolean anyInvalid = false;
+            for (int i = 0; i < requests.size(); i++) {
+                DepositRequest request = requests.get(i);
+                errors[i] = validate(request, request == null ? null : accounts.get(request.getAccountId()));
+                anyInvalid |= errors[i] != null;
+            }
+
+            if (anyInvalid && mode == BatchFailureMode.ALL_OR_NOTHING) {
+                return rolledBack(mode, errors, status);
+            }
+
+            // 2. 거래 INSERT (최종 상태로 기록, chunkSize 단위로 배치 전송)
+            Transaction[] transactions = new Transaction[requests.size()];
+            try {
+                List<Integer> chunk = new ArrayList<>();
+                for (int i = 0; i < requests.size(); i++) {
+                    if (errors[i] != null) {
+                        continue;
+                    }
+                    Transaction transaction = requests.get(i).toTransaction(guidQueueUtil.getGUID());
+                    transaction.complete();
+                    transactions[i] = transaction;
+                    chunk.add(i);
+
+                    if (chunk.size() == settings.getChunkSize()) {
+                        insertChunk(chunk, transactions, errors, mode, status);
+                        chunk.clear();
+                    }
+                }
+                insertChunk(chunk, transactions, errors, mode, status);
+
+                Map<Long, BigDecimal> totals = new TreeMap<>();
+                for (int i = 0; i < requests.size(); i++) {
+                    if (errors[i] == null) {
+                        totals.merge(requests.get(i).getAccountId(), requests.get(i).getAmount(), BigDecimal::add);
+                    }
+                }
+
+                // 3. 계좌별 잔액 UPDATE (계좌당 1회)
+                totals.forEach((accountId, total) -> {
+                    Account account = accounts.get(accountId);
+                    account.deposit(total);
+                    batchAccountRepository.updateBalance(account);
+                });
+                flushBalances(errors, mode);
+            } catch (DataAccessException ex) {
+                if (mode != BatchFailureMode.ALL_OR_NOTHING) {
+                    throw ex;
+                }
+                // DB 오류도 검증 실패와 같이 건별 결과로 반환 (오류가 난 건은 insertChunk/flushBalances에서 기록)
+                log.warn("일괄 입금 DB 오류로 전체 롤백합니다 - 예외: {}", ex.getClass().getSimpleName());
+                return rolledBack(mode, errors, status);
+            }
+
+            // 4. 건별 결과 (생성 키는 배치 전송 후 채워짐)
+            List<DepositItemResult> items = new ArrayList<>(requests.size());
+            for (int i = 0; i < requests.size(); i++) {
+                items.add(errors[i] == null
+                        ? DepositItemResult.succeeded(i, transactions[i])
+                        : DepositItemResult.failed(i, errors[i]));
+            }
+            return BatchDepositResult.of(mode, items, false);
+        });
+
+        log.info("일괄 입금 완료 - 성공: {}, 실패: {}, 전체 롤백: {}",
+                result.getSucceeded(), result.getFailed(), result.isRolledBack());
+        return result;
+    }
+
+    /**
+     * 트랜잭션을 롤백으로 표시하고 건별 결과를 생성합니다.
+     * 실패 사유가 없는 건은 다른 건의 실패로 롤백된 것으로 기록합니다.
+     */
+    private BatchDepositResult rolledBack(BatchFailureMode mode, String[] errors, TransactionStatus status) {
+        status.setRollbackOnly();
+        List<DepositItemResult> items = new ArrayList<>(errors.length);
+        for (int i = 0; i < errors.length; i++) {
+            items.add(DepositItemResult.failed(i, errors[i] != null ? errors[i] : "다른 건의 실패로 전체 롤백되었습니다"));
+        }
+        return BatchDepositResult.of(mode, items, true);
+    }
+
+    /**
+     * 계좌별 잔액 UPDATE 배치를 전송합니다.
+     * ALL_OR_NOTHING에서 전송이 실패하면 반영 대상이던 건마다 원인 메시지를 기록하고 예외를 다시 던집니다.
+     */
+    private void flushBalances(String[] errors, BatchFailureMode mode) {
+        try {
+            batchSqlSession.flushStatements();
+        } catch (DataAccessException ex) {
+            if (mode == BatchFailureMode.ALL_OR_NOTHING) {
+                String message = "잔액 반영 실패: " + ex.getMostSpecificCause().getMessage();
+                for (int i = 0; i < errors.length; i++) {
+                    if (errors[i] == null) {
+                        errors[i] = message;
+                    }
+                }
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * 거래 한 청크를 배치로 저장합니다.
+     * ALL_OR_NOTHING에서는 청크 전송이 DB 오류로 실패하면 청크의 건마다 원인 메시지를 기록하고 예외를 다시 던집니다.
+     * PER_ITEM에서는 청크 전송이 DB 오류로 실패하면 세이브포인트로 되돌린 뒤 건별로 다시 저장해,
+     * 실패한 건만 제외합니다. (PostgreSQL 등에서 오류 후 트랜잭션 전체가 중단되는 것도 방지)
+     */
+    private void insertChunk(List<Integer> chunk, Transaction[] transactions, String[] errors,
+            BatchFailureMode mode, TransactionStatus status) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        if (mode == BatchFailureMode.ALL_OR_NOTHING) {
+            try {
+                chunk.forEach(i -> batchTransactionRepository.save(transactions[i]));
+                batchSqlSession.flushStatements();
+            } catch (DataAccessException ex) {
+                String message = "거래 저장 실패: " + ex.getMostSpecificCause().getMessage();
+                chunk.forEach(i -> errors[i] = message);
+                throw ex;
+            }
+            return;
+        }
+
+        Object savepoint = status.createSavepoint();
+        try {
+            chunk.forEach(i -> batchTransactionRepository.save(transactions[i]));
+            batchSqlSession.flushStatements();
+            status.releaseSavepoint(savepoint);
+        } catch (DataAccessException ex) {
+            status.rollbackToSavepoint(savepoint);
+            log.warn("일괄 입금 청크 저장 실패, 건별로 다시 저장합니다 - 건수: {}, 예외: {}",
+                    chunk.size(), ex.getClass().getSimpleName());
+            chunk.forEach(i -> insertItem(i, transactions, errors, status));
+        }
+    }
+
+    /**
+     * 거래 한 건을 세이브포인트 안에서 저장합니다. 실패하면 해당 건만 되돌리고 실패로 기록합니다.
+     */
+    private void insertItem(int index, Transaction[] transactions, String[] errors, TransactionStatus status) {
+        Object savepoint = status.createSavepoint();
+        try {
+            batchTransactionRepository.save(transactions[index]);
+            batchSqlSession.flushStatements();
+            status.releaseSavepoint(savepoint);
+        } catch (DataAccessException ex) {
+            status.rollbackToSavepoint(savepoint);
+            log.warn("일괄 입금 건 저장 실패 - 순번: {}, 예외: {}", index, ex.getClass().getSimpleName());
+            transactions[index] = null;
+            errors[index] = "거래 저장 실패: " + ex.getMostSpecificCause().getMessage();
+        }
+    }
+
+    /**
+     * 요청에 포함된 계좌를 ID 오름차순으로 잠급니다. (동시 일괄 처리 간 교착 방지)
+     * 존재하지 않는 계좌는 결과 맵에 포함되지 않습니다.
+     */
+    private Map<Long, Account> lockAccounts(List<DepositRequest> requests) {
+        TreeSet<Long> accountIds = new TreeSet<>();
+        for (DepositRequest request : requests) {
+            if (request != null && request.getAccountId() != null) {
+                accountIds.add(request.getAccountId());
+            }
+        }
+
+        Map<Long, Account> accounts = new HashMap<>();
+        for (Long accountId : accountIds) {
+            RetryableAction<Account> lock = () -> {
+                Account locked = batchAccountRepository.findByIdForUpdateSkipLocked(accountId);
+                if (locked != null || batchAccountRepository.findById(accountId) == null) {
+                    return RetryOutcome.success(locked);
+                }
+                return RetryOutcome.busy("account busy");
+            };
+            Account account = lockRetryTemplate.execute(ContentionKey.account(BATCH_DEPOSIT_OPERATION, accountId), lock, null);
+            if (account != null) {
+                accounts.put(accountId, account);
+            }
+        }
+        return accounts;
+    }
+
+    /**
+     * 입금 한 건을 검증합니다.
+     *
+     * @return 실패 사유 (정상이면 null)
+     */
+    private String validate(DepositRequest request, Account account) {
+        if (request == null) {
+            return "입금 요청이 비어 있습니다";
+        }
+        if (request.getAccountId() == null) {
+            return "계좌 ID는 필수입니다";
+        }
+        if (request.getCustomerId() == null) {
+            return "고객 ID는 필수입니다";
+        }
+        if (request.getAmount() == null || request.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
+            return "금액은 0보다 커야 합니다";
+        }
+        if (request.getCurrency() == null || request.getCurrency().isBlank()) {
+            return "통화는 필수입니다";
+        }
+        if (request.isForceFailure()) {
+            return "테스트를 위한 강제 입금 실패";
+        }
+        if (account == null) {
+            return "계좌를 찾을 수 없습니다: " + request.getAccountId();
+        }
+        if (!account.isActive()) {
+            return "계좌가 활성 상태가 아닙니다";
+        }
+        return null;
+    }
+}
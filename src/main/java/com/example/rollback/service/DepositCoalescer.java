@@ -0,0 +1,332 @@
+package com.example.rollback.service;
+
+import com.example.rollback.config.DepositProperties;
+import com.example.rollback.domain.Account;
+import com.example.rollback.domain.DepositRequest;
+import com.example.rollback.domain.Transaction;
+import com.example.rollback.repository.AccountRepository;
+import com.example.rollback.repository.TransactionRepository;
+import com.example.rollback.util.ContextHolder;
+import com.example.rollback.util.CtxMap;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 같은 계좌로 몰리는 입금을 짧은 시간 동안 모아 한 번에 반영합니다.
+ * 그룹당 잔액 UPDATE 1회 + 거래 다건 INSERT 1회로 처리하고, 호출자마다 자신의 결과(또는 실패)를 돌려받습니다.
+ * <p>
+ * 호출자는 최대 {@code maxWaitMs}까지만 기다리며, 반영 작업을 예약할 수 없거나(종료 중) 종료 시 남은 입금은 실패로 완료합니다.
+ * 반영은 각 호출자의 컨텍스트(GUID 등)와 MDC로 실행합니다.
+ */
+@Slf4j
+@Component
+public class DepositCoalescer {
+
+    /** 계좌 저장소 */
+    private final AccountRepository accountRepository;
+
+    /** 거래 저장소 */
+    private final TransactionRepository transactionRepository;
+
+    /** 그룹 반영용 트랜잭션 템플릿 */
+    private final TransactionTemplate transactionTemplate;
+
+    /** 합치기 설정 */
+    private final DepositProperties.Coalescing settings;
+
+    /** 계좌 ID별 대기 중인 입금 그룹 */
+    private final ConcurrentHashMap<Long, PendingGroup> pending = new ConcurrentHashMap<>();
+
+    /** 최대 크기에 도달해 맵에서 떼어냈지만 아직 반영을 시작하지 않은 그룹 */
+    private final Set<PendingGroup> detached = ConcurrentHashMap.newKeySet();
+
+    /** 그룹 반영 스레드 */
+    private final ScheduledExecutorService flusher;
+
+    /** 그룹 크기 분포 */
+    private final DistributionSummary groupSize;
+
+    /** 합치기로 인해 추가된 대기 시간 */
+    private final Timer addedLatency;
+
+    /**
+     * 생성자입니다.
+     */
+    public DepositCoalescer(AccountRepository accountRepository, TransactionRepository transactionRepository,
+            TransactionTemplate transactionTemplate, DepositProperties depositProperties, MeterRegistry meterRegistry) {
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.settings = depositProperties.getCoalescing();
+
+        AtomicInteger threadSeq = new AtomicInteger();
+        this.flusher = Executors.newScheduledThreadPool(settings.getFlushThreads(), r -> {
+            Thread t = new Thread(r, "deposit-coalescer-" + threadSeq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+
+        this.groupSize = DistributionSummary.builder("deposit.coalescer.group.size")
+                .description("한 번에 반영된 입금 건수")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.addedLatency = Timer.builder("deposit.coalescer.added.latency")
+                .description("입금 접수부터 그룹 반영 시작까지의 대기 시간")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * 반영 스레드를 종료하고, 아직 반영을 시작하지 않은 입금을 모두 실패로 완료합니다.
+     * 반영 중인 그룹은 중단된 반영 스레드가 직접 완료합니다.
+     */
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdownNow();
+        for (Long accountId : pending.keySet()) {
+            PendingGroup group = pending.remove(accountId);
+            if (group != null) {
+                failGroup(group, shutdownException(null));
+            }
+        }
+        for (PendingGroup group : detached) {
+            if (detached.remove(group)) {
+                failGroup(group, shutdownException(null));
+            }
+        }
+    }
+
+    /**
+     * 입금을 그룹에 넣고 반영될 때까지 기다린 뒤 거래 결과를 반환합니다.
+     */
+    public Transaction deposit(DepositRequest request, String guid) {
+        BigDecimal amount = request.getAmount();
+        if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("금액은 0보다 커야 합니다");
+        }
+
+        PendingDeposit item = new PendingDeposit(request.toTransaction(guid),
+                new CompletableFuture<Transaction>().orTimeout(settings.getMaxWaitMs(), TimeUnit.MILLISECONDS),
+                System.nanoTime(), ContextHolder.copyContext(), MDC.getCopyOfContextMap());
+        Long accountId = request.getAccountId();
+        PendingGroup[] created = new PendingGroup[1];
+        PendingGroup[] full = new PendingGroup[1];
+
+        pending.compute(accountId, (id, group) -> {
+            if (group == null) {
+                group = new PendingGroup(id);
+                created[0] = group;
+            }
+            group.items.add(item);
+            if (group.items.size() >= settings.getMaxBatchSize()) {
+                // 최대 크기 도달: 맵에서 떼어내 즉시 반영
+                detached.add(group);
+                full[0] = group;
+                return null;
+            }
+            return group;
+        });
+
+        if (created[0] != null && full[0] == null) {
+            scheduleWindow(created[0]);
+        }
+        if (full[0] != null) {
+            flushNow(full[0]);
+        }
+
+        try {
+            return item.result.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof TimeoutException) {
+                throw new IllegalStateException("입금 반영 대기 시간(" + settings.getMaxWaitMs() + "ms)을 초과했습니다", ex.getCause());
+            }
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * 시간 창이 끝나면 그룹을 반영하도록 예약합니다. 예약이 거절되면(종료 중) 그룹을 실패로 완료합니다.
+     */
+    private void scheduleWindow(PendingGroup group) {
+        try {
+            flusher.schedule(() -> flushIfPending(group), settings.getWindowMs(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException ex) {
+            // 이미 최대 크기로 떼어낸 그룹은 떼어낸 쪽에서 처리
+            if (pending.remove(group.accountId, group)) {
+                failGroup(group, shutdownException(ex));
+            }
+        }
+    }
+
+    /**
+     * 떼어낸 그룹을 바로 반영하도록 맡깁니다. 실행이 거절되면(종료 중) 그룹을 실패로 완료합니다.
+     */
+    private void flushNow(PendingGroup group) {
+        try {
+            flusher.execute(() -> flushIfDetached(group));
+        } catch (RejectedExecutionException ex) {
+            if (detached.remove(group)) {
+                failGroup(group, shutdownException(ex));
+            }
+        }
+    }
+
+    /**
+     * 시간 창이 끝난 그룹이 아직 대기 중이면 반영합니다.
+     */
+    private void flushIfPending(PendingGroup group) {
+        if (pending.remove(group.accountId, group)) {
+            flush(group);
+        }
+    }
+
+    /**
+     * 떼어낸 그룹이 종료 처리로 실패하지 않았으면 반영합니다.
+     */
+    private void flushIfDetached(PendingGroup group) {
+        if (detached.remove(group)) {
+            flush(group);
+        }
+    }
+
+    /**
+     * 그룹을 반영하고 각 호출자에게 결과를 전달합니다.
+     * 대기 시간이 지나 이미 실패로 완료된 입금은 반영하지 않습니다.
+     */
+    private void flush(PendingGroup group) {
+        List<PendingDeposit> items = group.items;
+        long now = System.nanoTime();
+        for (PendingDeposit item : items) {
+            addedLatency.record(now - item.enqueuedAt, TimeUnit.NANOSECONDS);
+        }
+        groupSize.record(items.size());
+        items.removeIf(item -> item.result.isDone());
+        if (items.isEmpty()) {
+            return;
+        }
+
+        try {
+            // 그룹 로그는 첫 입금의 컨텍스트로 기록
+            items.get(0).runWithContext(() -> applyGroup(group.accountId, items));
+            items.forEach(item -> item.result.complete(item.transaction));
+        } catch (RuntimeException ex) {
+            if (items.size() == 1) {
+                items.get(0).result.completeExceptionally(ex);
+                return;
+            }
+            // 한 건의 오류가 그룹 전체를 실패시키지 않도록 건별로 다시 반영
+            log.warn("입금 그룹 반영 실패, 건별 재처리 - 계좌ID: {}, 건수: {}, 예외: {}",
+                    group.accountId, items.size(), ex.getClass().getSimpleName());
+            for (PendingDeposit item : items) {
+                try {
+                    item.runWithContext(() -> applyGroup(group.accountId, List.of(item)));
+                    item.result.complete(item.transaction);
+                } catch (RuntimeException itemEx) {
+                    item.result.completeExceptionally(itemEx);
+                }
+            }
+        } catch (Error error) {
+            items.forEach(item -> item.result.completeExceptionally(error));
+            throw error;
+        }
+    }
+
+    /**
+     * 그룹의 입금을 모두 실패로 완료합니다.
+     */
+    private void failGroup(PendingGroup group, RuntimeException cause) {
+        log.warn("입금 그룹 반영 취소 - 계좌ID: {}, 건수: {}", group.accountId, group.items.size());
+        group.items.forEach(item -> item.result.completeExceptionally(cause));
+    }
+
+    private static IllegalStateException shutdownException(RejectedExecutionException cause) {
+        return new IllegalStateException("입금 합치기가 종료되었습니다", cause);
+    }
+
+    /**
+     * 잔액 UPDATE 1회와 거래 다건 INSERT 1회를 하나의 트랜잭션으로 실행합니다.
+     */
+    private void applyGroup(Long accountId, List<PendingDeposit> items) {
+        transactionTemplate.executeWithoutResult(status -> {
+            BigDecimal total = BigDecimal.ZERO;
+            List<Transaction> transactions = new ArrayList<>(items.size());
+            for (PendingDeposit item : items) {
+                total = total.add(item.transaction.getAmount());
+                transactions.add(item.transaction);
+            }
+
+            Account account = accountRepository.incrementBalance(accountId, total);
+            if (account == null) {
+                if (accountRepository.findById(accountId) == null) {
+                    throw new IllegalArgumentException("계좌를 찾을 수 없습니다: " + accountId);
+                }
+                throw new IllegalStateException("계좌가 활성 상태가 아닙니다");
+            }
+
+            transactions.forEach(Transaction::complete);
+            transactionRepository.saveAll(transactions);
+
+            log.info("입금 그룹 반영 완료 - 계좌: {}, 건수: {}, 합계: {}, 신규잔액: {}",
+                    account.getAccountNumber(), transactions.size(), total, account.getBalance());
+        });
+    }
+
+    /**
+     * 계좌 하나에 대해 모이고 있는 입금 묶음입니다.
+     */
+    private static final class PendingGroup {
+        private final Long accountId;
+        private final List<PendingDeposit> items = new ArrayList<>();
+
+        private PendingGroup(Long accountId) {
+            this.accountId = accountId;
+        }
+    }
+
+    /**
+     * 반영을 기다리는 입금 한 건입니다. (호출 스레드의 컨텍스트와 MDC 포함)
+     */
+    private record PendingDeposit(Transaction transaction, CompletableFuture<Transaction> result, long enqueuedAt,
+            CtxMap context, Map<String, String> mdc) {
+
+        /**
+         * 호출자의 컨텍스트와 MDC를 반영 스레드에 설정한 상태로 실행합니다.
+         */
+        private void runWithContext(Runnable action) {
+            ContextHolder.setContext(context);
+            if (mdc != null) {
+                MDC.setContextMap(mdc);
+            }
+            try {
+                action.run();
+            } finally {
+                ContextHolder.clearContext();
+                MDC.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.example.rollback.service;
+
+import com.example.rollback.config.DepositProperties;
+import com.example.rollback.util.ContextHolder;
+import com.example.rollback.util.CtxMap;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * 계좌별 단일 작성자(mailbox) 실행기입니다.
+ * 계좌마다 크기가 제한된 대기열을 두고 가상 스레드 하나가 차례로 처리하므로, 같은 계좌의 변경은 이 JVM 안에서 항상 순서대로 하나씩 실행됩니다.
+ * 같은 계좌끼리 행 락을 두고 경쟁하지 않으므로 SKIP LOCKED 미스와 재시도 대기가 생기지 않습니다.
+ * <p>
+ * 계좌끼리는 대기열을 공유하지 않아 한 계좌가 밀려도 다른 계좌의 입금이 뒤에서 기다리지 않습니다.
+ * 동시에 처리하는 계좌 수(= 사용하는 커넥션 수)는 {@code maxActiveAccounts}로 제한하고,
+ * 한 계좌가 처리 자리를 독점하지 않도록 {@code drainBatchSize}건마다 자리를 양보합니다.
+ * mailbox는 대기 중인 작업이 있는 동안만 존재합니다.
+ */
+@Slf4j
+@Component
+public class DepositMailbox {
+
+    /** 계좌 ID별 mailbox (대기 중인 작업이 없으면 제거) */
+    private final ConcurrentHashMap<Long, AccountMailbox> mailboxes = new ConcurrentHashMap<>();
+
+    /** 처리 가상 스레드 실행기 */
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("deposit-mailbox-", 0).factory());
+
+    /** 동시에 처리하는 계좌 수 제한 */
+    private final Semaphore activeAccounts;
+
+    /** 계좌당 대기열 크기 */
+    private final int queueCapacity;
+
+    /** 한 번 자리를 잡았을 때 연속으로 처리하는 최대 건수 */
+    private final int drainBatchSize;
+
+    /**
+     * 생성자입니다.
+     */
+    public DepositMailbox(DepositProperties depositProperties) {
+        DepositProperties.Mailbox settings = depositProperties.getMailbox();
+        if (settings.getMaxActiveAccounts() < 1) {
+            throw new IllegalArgumentException("mailbox 동시 처리 계좌 수는 1 이상이어야 합니다");
+        }
+        if (settings.getQueueCapacity() < 1 || settings.getDrainBatchSize() < 1) {
+            throw new IllegalArgumentException("mailbox 대기열 크기와 연속 처리 건수는 1 이상이어야 합니다");
+        }
+        this.activeAccounts = new Semaphore(settings.getMaxActiveAccounts(), true);
+        this.queueCapacity = settings.getQueueCapacity();
+        this.drainBatchSize = settings.getDrainBatchSize();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 계좌의 mailbox에서 작업을 실행하고 끝날 때까지 기다립니다.
+     * 호출 스레드의 컨텍스트(GUID 등)와 MDC는 작업 스레드로 전달됩니다.
+     *
+     * @throws MailboxFullException 계좌의 대기열이 가득 찬 경우
+     */
+    public <T> T execute(Long accountId, Supplier<T> action) {
+        if (accountId == null) {
+            throw new IllegalArgumentException("계좌 ID는 필수입니다");
+        }
+
+        Task<T> task = new Task<>(ContextHolder.copyContext(), MDC.getCopyOfContextMap(), action);
+        enqueue(accountId, task);
+
+        try {
+            return task.result.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * 현재 mailbox가 있는(대기 또는 처리 중인) 계좌 수를 반환합니다.
+     */
+    public int activeMailboxCount() {
+        return mailboxes.size();
+    }
+
+    /**
+     * 작업을 계좌 대기열에 넣고, 처리 중인 스레드가 없으면 새로 시작합니다.
+     */
+    private void enqueue(Long accountId, Task<?> task) {
+        boolean[] start = new boolean[1];
+        mailboxes.compute(accountId, (id, mailbox) -> {
+            if (mailbox == null) {
+                mailbox = new AccountMailbox();
+            }
+            if (mailbox.queue.size() >= queueCapacity) {
+                throw new MailboxFullException(accountId, queueCapacity);
+            }
+            mailbox.queue.add(task);
+            if (!mailbox.scheduled) {
+                mailbox.scheduled = true;
+                start[0] = true;
+            }
+            return mailbox;
+        });
+
+        if (start[0]) {
+            schedule(accountId);
+        }
+    }
+
+    /**
+     * 계좌 대기열 처리를 가상 스레드에 맡깁니다.
+     */
+    private void schedule(Long accountId) {
+        try {
+            executor.execute(() -> drain(accountId));
+        } catch (RejectedExecutionException ex) {
+            failAll(accountId, new IllegalStateException("입금 mailbox가 종료되었습니다", ex));
+        }
+    }
+
+    /**
+     * 처리 자리를 잡고 계좌 대기열을 최대 {@code drainBatchSize}건 처리합니다.
+     * 작업이 남아 있으면 자리를 양보하고 다시 예약합니다.
+     */
+    private void drain(Long accountId) {
+        try {
+            activeAccounts.acquire();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            failAll(accountId, new IllegalStateException("입금 mailbox가 종료되었습니다", ex));
+            return;
+        }
+
+        try {
+            for (int processed = 0; processed < drainBatchSize; processed++) {
+                Task<?> task = next(accountId);
+                if (task == null) {
+                    return;
+                }
+                task.run();
+            }
+        } finally {
+            activeAccounts.release();
+        }
+        schedule(accountId);
+    }
+
+    /**
+     * 다음 작업을 꺼냅니다. 대기열이 비었으면 mailbox를 제거하고 null을 반환합니다.
+     */
+    private Task<?> next(Long accountId) {
+        Object[] next = new Object[1];
+        mailboxes.computeIfPresent(accountId, (id, mailbox) -> {
+            next[0] = mailbox.queue.poll();
+            return next[0] != null ? mailbox : null;
+        });
+        return (Task<?>) next[0];
+    }
+
+    /**
+     * 계좌 대기열의 작업을 모두 실패로 완료하고 mailbox를 제거합니다.
+     */
+    private void failAll(Long accountId, RuntimeException cause) {
+        AccountMailbox mailbox = mailboxes.remove(accountId);
+        if (mailbox == null) {
+            return;
+        }
+        log.warn("입금 mailbox 작업 취소 - 계좌ID: {}, 건수: {}", accountId, mailbox.queue.size());
+        mailbox.queue.forEach(task -> task.result.completeExceptionally(cause));
+    }
+
+    /**
+     * 계좌 하나의 대기열입니다. (mailboxes의 compute 안에서만 변경)
+     */
+    private static final class AccountMailbox {
+
+        /** 대기 중인 작업 */
+        private final ArrayDeque<Task<?>> queue = new ArrayDeque<>();
+
+        /** 처리 스레드가 예약되었거나 실행 중인지 여부 */
+        private boolean scheduled;
+    }
+
+    /**
+     * 호출 스레드의 컨텍스트를 담은 작업입니다.
+     */
+    private static final class Task<T> implements Runnable {
+
+        private final CtxMap context;
+        private final Map<String, String> mdc;
+        private final Supplier<T> action;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+
+        private Task(CtxMap context, Map<String, String> mdc, Supplier<T> action) {
+            this.context = context;
+            this.mdc = mdc;
+            this.action = action;
+        }
+
+        @Override
+        public void run() {
+            ContextHolder.setContext(context);
+            if (mdc != null) {
+                MDC.setContextMap(mdc);
+            }
+            try {
+                result.complete(action.get());
+            } catch (Throwable ex) {
+                result.completeExceptionally(ex);
+            } finally {
+                ContextHolder.clearContext();
+                MDC.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.example.rollback.service;
+
+import com.example.rollback.config.DepositProperties;
+import com.example.rollback.domain.BatchDepositResult;
+import com.example.rollback.domain.BatchFailureMode;
+import com.example.rollback.domain.DepositItemResult;
+import com.example.rollback.domain.DepositRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * NDJSON(줄 단위 JSON) 입금 스트림을 읽으면서 고정 크기 청크로 처리하고, 건별 결과를 한 줄씩 바로 내보냅니다.
+ * 요청 전체를 메모리에 올리지 않으므로 파일 크기와 관계없이 사용 메모리가 일정합니다.
+ * 한 줄도 {@code maxLineLength}자까지만 보관하며, 더 긴 줄은 끝까지 건너뛰고 실패한 줄로 기록합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DepositStreamService {
+
+    /** 청크 처리에 사용하는 일괄 입금 서비스 */
+    private final BatchDepositService batchDepositService;
+
+    /** 줄 단위 JSON 변환기 */
+    private final ObjectMapper objectMapper;
+
+    /** 입금 설정 */
+    private final DepositProperties depositProperties;
+
+    /**
+     * 입력 스트림의 입금을 처리하고 결과를 출력 스트림에 씁니다.
+     * 실패 처리 방식은 청크 단위로 적용됩니다. ALL_OR_NOTHING에서는 변환에 실패한 줄이 있는 청크를 반영하지 않습니다.
+     *
+     * @param in NDJSON 입금 요청 스트림
+     * @param out NDJSON 결과 스트림 (입력 한 줄당 결과 한 줄)
+     * @param failureMode 부분 실패 처리 방식 (null이면 설정값)
+     */
+    public void ingest(InputStream in, OutputStream out, BatchFailureMode failureMode) throws IOException {
+        int chunkSize = depositProperties.getStream().getChunkSize();
+        int maxLineLength = depositProperties.getStream().getMaxLineLength();
+        BatchFailureMode mode = failureMode != null ? failureMode : depositProperties.getBatch().getFailureMode();
+        LineReader reader = new LineReader(new InputStreamReader(in, StandardCharsets.UTF_8), maxLineLength);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+
+        List<StreamLine> chunk = new ArrayList<>(chunkSize);
+        long index = 0;
+        long succeeded = 0;
+        long failed = 0;
+        String line;
+
+        while ((line = reader.readLine()) != null) {
+            if (reader.isOversize()) {
+                chunk.add(new StreamLine(index++, null, "줄 길이가 최대 길이(" + maxLineLength + "자)를 초과했습니다"));
+            } else if (line.isBlank()) {
+                continue;
+            } else {
+                chunk.add(parse(index++, line));
+            }
+            if (chunk.size() >= chunkSize) {
+                long ok = processChunk(chunk, mode, writer);
+                succeeded += ok;
+                failed += chunk.size() - ok;
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            long ok = processChunk(chunk, mode, writer);
+            succeeded += ok;
+            failed += chunk.size() - ok;
+        }
+        writer.flush();
+
+        log.info("스트림 입금 완료 - 전체: {}, 성공: {}, 실패: {}", index, succeeded, failed);
+    }
+
+    /**
+     * 한 줄을 입금 요청으로 변환합니다. 변환에 실패하면 실패 사유를 담습니다.
+     */
+    private StreamLine parse(long index, String line) {
+        try {
+            DepositRequest request = objectMapper.readValue(line, DepositRequest.class);
+            if (request == null) {
+                return new StreamLine(index, null, "입금 요청이 비어 있습니다");
+            }
+            return new StreamLine(index, request, null);
+        } catch (JsonProcessingException ex) {
+            return new StreamLine(index, null, "JSON 형식 오류: " + ex.getOriginalMessage());
+        }
+    }
+
+    /**
+     * 청크를 일괄 처리하고 입력 순서대로 결과를 기록한 뒤 내보냅니다.
+     *
+     * @return 성공 건수
+     */
+    private long processChunk(List<StreamLine> chunk, BatchFailureMode failureMode, Writer writer) throws IOException {
+        List<DepositRequest> requests = new ArrayList<>(chunk.size());
+        boolean anyUnparsed = false;
+        for (StreamLine streamLine : chunk) {
+            if (streamLine.request() != null) {
+                requests.add(streamLine.request());
+            } else {
+                anyUnparsed = true;
+            }
+        }
+
+        List<DepositItemResult> batchItems = List.of();
+        String chunkError = null;
+        if (anyUnparsed && failureMode == BatchFailureMode.ALL_OR_NOTHING) {
+            // 변환에 실패한 줄도 청크의 실패이므로 나머지 줄을 반영하지 않음
+            chunkError = "다른 건의 실패로 전체 롤백되었습니다";
+        } else if (!requests.isEmpty()) {
+            try {
+                BatchDepositResult result = batchDepositService.depositBatch(requests, failureMode);
+                batchItems = result.getItems();
+            } catch (RuntimeException ex) {
+                // 응답이 이미 전송 중이므로 청크 단위 실패로 기록하고 다음 청크를 계속 처리
+                Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                chunkError = "청크 처리 실패: " + cause.getClass().getSimpleName();
+                log.warn("스트림 입금 청크 실패 - 시작 순번: {}, 건수: {}, 예외: {}",
+                        chunk.get(0).index(), chunk.size(), cause.getClass().getSimpleName());
+            }
+        }
+
+        long succeeded = 0;
+        int batchPos = 0;
+        for (StreamLine streamLine : chunk) {
+            DepositItemResult item;
+            if (streamLine.error() != null) {
+                item = DepositItemResult.failed(streamLine.index(), streamLine.error());
+            } else if (chunkError != null) {
+                item = DepositItemResult.failed(streamLine.index(), chunkError);
+            } else {
+                item = batchItems.get(batchPos++);
+                item.setIndex(streamLine.index());
+            }
+            if (item.isSuccess()) {
+                succeeded++;
+            }
+            writer.write(objectMapper.writeValueAsString(item));
+            writer.write('\n');
+        }
+        writer.flush();
+        return succeeded;
+    }
+
+    /**
+     * 입력 한 줄입니다. (요청 또는 변환 실패 사유)
+     */
+    private record StreamLine(long index, DepositRequest request, String error) {
+    }
+
+    /**
+     * 줄 길이를 제한하는 줄 단위 읽기입니다.
+     * 최대 길이를 넘는 줄은 내용을 버리고 줄 끝까지 건너뛰므로, 줄바꿈이 없는 큰 입력도 최대 길이만큼만 보관합니다.
+     */
+    private static final class LineReader {
+
+        private final Reader reader;
+        private final int maxLineLength;
+        private final char[] buffer = new char[8192];
+        private final StringBuilder line;
+        private int position;
+        private int limit;
+        private boolean oversize;
+
+        private LineReader(Reader reader, int maxLineLength) {
+            if (maxLineLength < 1) {
+                throw new IllegalArgumentException("스트림 최대 줄 길이는 1 이상이어야 합니다");
+            }
+            this.reader = reader;
+            this.maxLineLength = maxLineLength;
+            this.line = new StringBuilder(Math.min(maxLineLength, 1024));
+        }
+
+        /**
+         * 다음 줄을 반환합니다. (입력 끝이면 null, 최대 길이를 넘은 줄이면 빈 문자열)
+         */
+        private String readLine() throws IOException {
+            line.setLength(0);
+            oversize = false;
+            boolean read = false;
+            while (true) {
+                if (position == limit) {
+                    limit = reader.read(buffer);
+                    position = 0;
+                    if (limit <= 0) {
+                        limit = 0;
+                        return read ? finish() : null;
+                    }
+                }
+                read = true;
+                char c = buffer[position++];
+                if (c == '\n') {
+                    return finish();
+                }
+                if (oversize) {
+                    continue;
+                }
+                if (line.length() >= maxLineLength) {
+                    oversize = true;
+                    line.setLength(0);
+                    continue;
+                }
+                line.append(c);
+            }
+        }
+
+        /**
+         * 마지막 줄의 최대 길이 초과 여부를 반환합니다.
+         */
+        private boolean isOversize() {
+            return oversize;
+        }
+
+        private String finish() {
+            int length = line.length();
+            if (length > 0 && line.charAt(length - 1) == '\r') {
+                line.setLength(length - 1);
+            }
+            return line.toString();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.rollback.service;
+
+/**
+ * 계좌의 mailbox 대기열이 가득 차 입금을 받지 않았음을 나타내는 예외입니다.
+ */
+public class MailboxFullException extends RuntimeException {
+
+    /**
+     * 계좌 ID와 대기열 크기로 예외를 생성합니다.
+     */
+    public MailboxFullException(Long accountId, int capacity) {
+        super("계좌의 대기 중인 입금이 너무 많습니다: " + accountId + " (대기열 크기: " + capacity + ")");
+    }
+}
@@ -0,0 +1,232 @@
+package com.example.rollback.service;
+
+import com.example.rollback.config.StripingProperties;
+import com.example.rollback.domain.Account;
+import com.example.rollback.domain.AccountStripe;
+import com.example.rollback.repository.AccountRepository;
+import com.example.rollback.repository.AccountStripeRepository;
+import com.example.rollback.retry.ContentionKey;
+import com.example.rollback.retry.LockRetryTemplate;
+import com.example.rollback.retry.RetryOutcome;
+import com.example.rollback.retry.RetryableAction;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 분할 잔액(stripe) 계좌를 관리합니다.
+ * 입금은 잠겨 있지 않은 분할 행 하나에만 반영하고, 주기적으로 분할 잔액을 기본 잔액으로 합칩니다.
+ * 출금은 기본 잔액에서만 이루어지므로 {@code chk_balance_non_negative} 보장은 그대로 유지되며,
+ * 기본 잔액이 부족하면 출금 트랜잭션 안에서 먼저 분할 잔액을 합칩니다. ({@link #foldInto})
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StripedBalanceService {
+
+    /** 계좌당 최대 분할 수 */
+    private static final int MAX_STRIPES = 64;
+
+    /** 재시도 지표에서 사용하는 분할 설정 작업 이름 */
+    private static final String STRIPING_OPERATION = "striping";
+
+    /** 계좌 저장소 */
+    private final AccountRepository accountRepository;
+
+    /** 분할 잔액 저장소 */
+    private final AccountStripeRepository accountStripeRepository;
+
+    /** 락/경합 재시도 템플릿 */
+    private final LockRetryTemplate lockRetryTemplate;
+
+    /** 분할 설정/합치기용 트랜잭션 템플릿 */
+    private final TransactionTemplate transactionTemplate;
+
+    /** 분할 잔액 설정 */
+    private final StripingProperties settings;
+
+    /**
+     * 계좌 ID별 분할 수 캐시입니다. (유지 시간이 지나면 다시 조회)
+     * 다른 인스턴스에서 분할을 켠 사실이 늦게 반영되어도 기본 잔액 입금으로 처리될 뿐 정합성에는 영향이 없습니다.
+     */
+    private final ConcurrentHashMap<Long, CachedStripeCount> stripeCounts = new ConcurrentHashMap<>();
+
+    /**
+     * 분할 잔액 계좌인지 확인합니다.
+     */
+    public boolean isStriped(Long accountId) {
+        if (accountId == null) {
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        CachedStripeCount cached = stripeCounts.get(accountId);
+        if (cached == null || cached.isExpired(now)) {
+            Integer count = accountRepository.findStripeCount(accountId);
+            if (count == null) {
+                // 없는 계좌는 캐시하지 않음
+                stripeCounts.remove(accountId);
+                return false;
+            }
+            cached = new CachedStripeCount(count, now + settings.getCacheTtlMs());
+            stripeCounts.put(accountId, cached);
+        }
+        return cached.count() > 0;
+    }
+
+    /**
+     * 잠겨 있지 않은 분할 행 하나에 입금합니다. (호출자 트랜잭션 안에서 실행)
+     * 모든 분할 행이 잠겨 있으면 경합({@link RetryOutcome#busy})을 반환합니다.
+     *
+     * @return 입금된 분할 번호
+     */
+    public RetryOutcome<Integer> deposit(Long accountId, BigDecimal amount) {
+        CachedStripeCount cached = stripeCounts.get(accountId);
+        int count = cached != null ? cached.count() : 0;
+        if (count <= 0) {
+            throw new IllegalStateException("분할 잔액 계좌가 아닙니다: " + accountId);
+        }
+
+        // 임의의 분할부터 시작해 잠기지 않은 행을 찾음
+        int start = ThreadLocalRandom.current().nextInt(count);
+        for (int i = 0; i < count; i++) {
+            int stripeNo = (start + i) % count;
+            if (accountStripeRepository.findForUpdateSkipLocked(accountId, stripeNo) == null) {
+                continue;
+            }
+            if (accountStripeRepository.increment(accountId, stripeNo, amount) == 0) {
+                throw new IllegalStateException("계좌가 활성 상태가 아닙니다");
+            }
+            return RetryOutcome.success(stripeNo);
+        }
+
+        return RetryOutcome.busy("account busy");
+    }
+
+    /**
+     * 계좌에 분할 잔액을 설정합니다. (분할 수는 늘리기만 가능)
+     *
+     * @return 설정 후 계좌 정보
+     */
+    public Account enableStriping(Long accountId, int stripeCount) {
+        if (stripeCount < 1 || stripeCount > MAX_STRIPES) {
+            throw new IllegalArgumentException("분할 수는 1 이상 " + MAX_STRIPES + " 이하여야 합니다");
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Account account = lockBaseAccount(accountId);
+            int current = account.getStripeCount() != null ? account.getStripeCount() : 0;
+            if (stripeCount < current) {
+                throw new IllegalArgumentException("분할 수는 줄일 수 없습니다. 현재: " + current);
+            }
+            for (int stripeNo = current; stripeNo < stripeCount; stripeNo++) {
+                accountStripeRepository.insert(accountId, stripeNo);
+            }
+            accountRepository.updateStripeCount(accountId, stripeCount);
+        });
+
+        // 커밋 이후에만 캐시에 반영 (분할 행이 없는 상태로 라우팅되지 않도록)
+        stripeCounts.put(accountId, new CachedStripeCount(stripeCount, System.currentTimeMillis() + settings.getCacheTtlMs()));
+        log.info("분할 잔액 설정 완료 - 계좌ID: {}, 분할 수: {}", accountId, stripeCount);
+        return accountRepository.findById(accountId);
+    }
+
+    /**
+     * 분할 잔액을 기본 잔액으로 합칩니다.
+     * 기본 계좌 행이나 분할 행이 사용 중이면 이번 회차에는 건너뜁니다.
+     *
+     * @return 기본 잔액으로 옮긴 금액
+     */
+    public BigDecimal fold(Long accountId) {
+        BigDecimal folded = transactionTemplate.execute(status -> {
+            Account account = accountRepository.findByIdForUpdateSkipLocked(accountId);
+            if (account == null) {
+                return BigDecimal.ZERO;
+            }
+
+            BigDecimal moved = foldInto(account);
+            if (moved.signum() > 0) {
+                accountRepository.updateBalance(account);
+            }
+            return moved;
+        });
+
+        if (folded != null && folded.signum() > 0) {
+            log.info("분할 잔액 합치기 완료 - 계좌ID: {}, 금액: {}", accountId, folded);
+        }
+        return folded;
+    }
+
+    /**
+     * 확보한 기본 계좌에 분할 잔액을 합칩니다. (호출자 트랜잭션 안에서 실행)
+     * 분할 행은 차감하고 계좌 객체의 잔액만 늘리므로, 기본 잔액 저장은 호출자가 합니다.
+     * 다른 트랜잭션이 입금 중인 분할 행은 아직 커밋되지 않은 금액이므로 건너뜁니다.
+     *
+     * @return 기본 잔액으로 옮긴 금액
+     */
+    public BigDecimal foldInto(Account account) {
+        BigDecimal moved = BigDecimal.ZERO;
+        for (AccountStripe stripe : accountStripeRepository.findByAccountId(account.getId())) {
+            AccountStripe locked = accountStripeRepository.findForUpdateSkipLocked(account.getId(), stripe.getStripeNo());
+            if (locked == null || locked.getBalance().signum() == 0) {
+                continue;
+            }
+            accountStripeRepository.decrement(account.getId(), locked.getStripeNo(), locked.getBalance());
+            moved = moved.add(locked.getBalance());
+        }
+
+        if (moved.signum() > 0) {
+            account.setBalance(account.getBalance().add(moved));
+        }
+        return moved;
+    }
+
+    /**
+     * 분할 잔액 계좌 전체를 주기적으로 합칩니다. 유지 시간이 지난 분할 수 캐시도 함께 정리합니다.
+     */
+    @Scheduled(fixedDelayString = "${banking.striping.fold-interval-ms:60000}")
+    public void foldAll() {
+        long now = System.currentTimeMillis();
+        stripeCounts.values().removeIf(cached -> cached.isExpired(now));
+
+        for (Long accountId : accountRepository.findStripedAccountIds()) {
+            try {
+                fold(accountId);
+            } catch (Exception ex) {
+                log.warn("분할 잔액 합치기 실패 - 계좌ID: {}, 예외: {}", accountId, ex.getClass().getSimpleName());
+            }
+        }
+    }
+
+    /**
+     * 기본 계좌 행을 잠급니다. (경합 시 재시도)
+     */
+    private Account lockBaseAccount(Long accountId) {
+        RetryableAction<Account> lock = () -> {
+            Account locked = accountRepository.findByIdForUpdateSkipLocked(accountId);
+            if (locked != null) {
+                return RetryOutcome.success(locked);
+            }
+            if (accountRepository.findById(accountId) == null) {
+                return RetryOutcome.fatal(new IllegalArgumentException("계좌를 찾을 수 없습니다: " + accountId));
+            }
+            return RetryOutcome.busy("account busy");
+        };
+        return lockRetryTemplate.execute(ContentionKey.account(STRIPING_OPERATION, accountId), lock, null);
+    }
+
+    /**
+     * 캐시된 분할 수입니다.
+     */
+    private record CachedStripeCount(int count, long expiresAt) {
+
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.rollback.service;
+
+import com.example.rollback.aop.MeasuredExecutionTime;
+import com.example.rollback.domain.Account;
+import com.example.rollback.domain.Transaction;
+import com.example.rollback.domain.TransferRequest;
+import com.example.rollback.event.TransactionFailed;
+import com.example.rollback.lock.LockAcquisitionPolicy;
+import com.example.rollback.lock.LockPolicyRegistry;
+import com.example.rollback.repository.TransactionRepository;
+import com.example.rollback.retry.ContentionKey;
+import com.example.rollback.retry.LockRetryTemplate;
+import com.example.rollback.retry.RetryOutcome;
+import com.example.rollback.retry.RetryableAction;
+import com.example.rollback.util.ContextHolder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 계좌 간 이체를 처리합니다.
+ * 두 계좌를 항상 ID 오름차순으로 확보하므로, 서로 반대 방향의 이체가 동시에 들어와도 교착 상태가 생기지 않습니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TransferService {
+
+    /** 락 정책 설정에서 사용하는 이체 작업 이름 */
+    private static final String TRANSFER_OPERATION = "transfer";
+
+    /** 거래 저장소 */
+    private final TransactionRepository transactionRepository;
+
+    /** 실패 이벤트 발행기 */
+    private final ApplicationEventPublisher events;
+
+    /** 락/경합 재시도 템플릿 */
+    private final LockRetryTemplate lockRetryTemplate;
+
+    /** 작업별 락 정책 */
+    private final LockPolicyRegistry lockPolicyRegistry;
+
+    /** 분할 잔액 서비스 (출금 계좌 잔액 확인 전 분할 잔액 합치기) */
+    private final StripedBalanceService stripedBalanceService;
+
+    /**
+     * 이체를 처리합니다. 출금/입금 잔액 반영과 거래 기록(1건)은 한 트랜잭션으로 묶입니다.
+     * 재시도는 트랜잭션 단위로 하므로, 대기하는 동안 먼저 잡은 계좌의 락을 들고 있지 않고
+     * 한 계좌만 반영된 상태(낙관적 충돌)에서 다시 시도하는 일도 없습니다.
+     */
+    @MeasuredExecutionTime("이체 처리")
+    public Transaction transfer(TransferRequest request) {
+        String guid = ContextHolder.getCurrentGuid();
+        MDC.put("guid", guid);
+
+        AtomicReference<Long> lastTransactionId = new AtomicReference<>();
+
+        log.info("이체 처리 시작 - 출금계좌ID: {}, 입금계좌ID: {}, 금액: {}",
+                request.getFromAccountId(), request.getToAccountId(), request.getAmount());
+
+        try {
+            // 경합 키는 먼저 잠그는(ID가 작은) 계좌
+            ContentionKey key = request.getFromAccountId() != null && request.getToAccountId() != null
+                    ? ContentionKey.account(TRANSFER_OPERATION, Math.min(request.getFromAccountId(), request.getToAccountId()))
+                    : null;
+            RetryableAction<Transaction> attempt = () -> doTransfer(request, guid, lastTransactionId);
+            return lockRetryTemplate.executeInTransaction(key, attempt, null);
+        } catch (RuntimeException ex) {
+            try {
+                events.publishEvent(new TransactionFailed(
+                        ContextHolder.copyContext(),
+                        lastTransactionId.get(),
+                        ex.getClass().getSimpleName()));
+            } catch (RuntimeException publishEx) {
+                // 알림 실행기 포화 등으로 발행이 실패해도 이체 예외를 바꾸지 않음
+                log.warn("실패 이벤트 발행 실패 - 원인 예외: {}, 발행 예외: {}",
+                        ex.getClass().getSimpleName(), publishEx.getClass().getSimpleName());
+                ex.addSuppressed(publishEx);
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * 이체 시도 한 번입니다. 두 번째 계좌가 사용 중이면 경합을 반환하고, 트랜잭션 롤백으로 첫 번째 계좌의 락도 풀립니다.
+     */
+    private RetryOutcome<Transaction> doTransfer(TransferRequest request, String guid,
+            AtomicReference<Long> lastTransactionId) {
+        Long fromId = request.getFromAccountId();
+        Long toId = request.getToAccountId();
+        BigDecimal amount = request.getAmount();
+        if (fromId == null || toId == null) {
+            throw new IllegalArgumentException("계좌 ID는 필수입니다");
+        }
+        if (fromId.equals(toId)) {
+            throw new IllegalArgumentException("같은 계좌로는 이체할 수 없습니다");
+        }
+        if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("금액은 0보다 커야 합니다");
+        }
+
+        LockAcquisitionPolicy lockPolicy = lockPolicyRegistry.forOperation(TRANSFER_OPERATION);
+
+        // 1. 두 계좌 확보 (ID 오름차순)
+        Long firstId = Math.min(fromId, toId);
+        Long secondId = Math.max(fromId, toId);
+        return lockPolicy.tryAcquire(firstId).flatMap(first -> lockPolicy.tryAcquire(secondId).map(second ->
+                complete(request, guid, lastTransactionId, lockPolicy, first, second)));
+    }
+
+    /**
+     * 확보한 두 계좌(ID 오름차순)에 이체를 반영하고 거래를 기록합니다.
+     */
+    private Transaction complete(TransferRequest request, String guid, AtomicReference<Long> lastTransactionId,
+            LockAcquisitionPolicy lockPolicy, Account first, Account second) {
+        Long fromId = request.getFromAccountId();
+        BigDecimal amount = request.getAmount();
+        Account from = fromId.equals(first.getId()) ? first : second;
+        Account to = fromId.equals(first.getId()) ? second : first;
+
+        // 2. 검증 및 잔액 반영 (반영도 같은 순서로 실행)
+        validate(request, from, to);
+        if (from.isStriped() && !from.hasSufficientFunds(amount)) {
+            // 확보한 행은 기본 잔액만 담고 있으므로, 부족하면 분할 잔액을 먼저 합친 뒤 확인
+            stripedBalanceService.foldInto(from);
+        }
+        from.withdraw(amount);
+        to.deposit(amount);
+        lockPolicy.writeBalance(first);
+        lockPolicy.writeBalance(second);
+
+        // 3. 거래 기록 (완료 상태로 1회 INSERT)
+        Transaction transaction = request.toTransaction(guid);
+        transaction.complete();
+        transactionRepository.save(transaction);
+        lastTransactionId.set(transaction.getId());
+
+        log.info("이체 처리 완료({}) - 출금계좌: {}, 입금계좌: {}, 금액: {}, 거래ID: {}", lockPolicy.type(),
+                from.getAccountNumber(), to.getAccountNumber(), amount, transaction.getId());
+        return transaction;
+    }
+
+    /**
+     * 확보한 두 계좌로 이체 가능 여부를 검증합니다.
+     */
+    private void validate(TransferRequest request, Account from, Account to) {
+        if (!from.isActive() || !to.isActive()) {
+            throw new IllegalStateException("계좌가 활성 상태가 아닙니다");
+        }
+        if (!from.getCustomerId().equals(request.getCustomerId())) {
+            throw new IllegalArgumentException("출금 계좌의 소유 고객이 아닙니다");
+        }
+        if (!from.getCurrency().equals(to.getCurrency()) || !from.getCurrency().equals(request.getCurrency())) {
+            throw new IllegalArgumentException("통화가 다른 계좌 간 이체는 지원하지 않습니다");
+        }
+    }
+}
@@ -22,13 +22,12 @@ public class ContextHolder {
      * @return 초기화된 CtxMap 인스턴스
      */
     public static CtxMap initializeContext(String guid) {
-        CtxMap context = CtxMap.of(java.util.Map.of(
-            "guid", guid,
-            "requestId", UUID.randomUUID().toString(),
-            "requestTime", Instant.now(),
-            "threadName", Thread.currentThread().getName()
-        ));
-        
+        CtxMap context = new CtxMap()
+            .put(ContextKey.GUID, guid)
+            .put(ContextKey.REQUEST_ID, UUID.randomUUID().toString())
+            .put(ContextKey.REQUEST_TIME, Instant.now())
+            .put(ContextKey.THREAD_NAME, Thread.currentThread().getName());
+
         contextHolder.set(context);
         log.debug("[GUID: {}] 새로운 컨텍스트가 초기화되었습니다. Thread: {}", guid, Thread.currentThread().getName());
         return context;
@@ -42,7 +41,7 @@ public class ContextHolder {
     public static void setContext(CtxMap context) {
         if (context != null) {
             contextHolder.set(context);
-            log.debug("[GUID: {}] 컨텍스트가 설정되었습니다. Thread: {}", context.getString("guid", "unknown"), Thread.currentThread().getName());
+            log.debug("[GUID: {}] 컨텍스트가 설정되었습니다. Thread: {}", guidOf(context), Thread.currentThread().getName());
         }
     }
 
@@ -77,8 +76,7 @@ public class ContextHolder {
      * @return GUID 문자열 또는 "unknown"
      */
     public static String getCurrentGuid() {
-        CtxMap context = getCurrentContext();
-        return context.getString("guid", "unknown");
+        return guidOf(getCurrentContext());
     }
 
     /**
@@ -106,6 +104,49 @@ public class ContextHolder {
         return context.getObject(key, type);
     }
 
+    /**
+     * 컨텍스트에 타입 지정 키의 값을 추가합니다.
+     *
+     * @param key 키
+     * @param value 값
+     * @return 메소드 체이닝을 위한 현재 컨텍스트
+     */
+    public static <T> CtxMap put(ContextKey<T> key, T value) {
+        return getCurrentContext().put(key, value);
+    }
+
+    /**
+     * 컨텍스트에서 타입 지정 키의 값을 조회합니다.
+     *
+     * @param key 키
+     * @return 조회된 값 또는 null
+     */
+    public static <T> T get(ContextKey<T> key) {
+        return getCurrentContext().get(key);
+    }
+
+    /**
+     * 컨텍스트에서 long 값을 박싱 없이 조회합니다.
+     *
+     * @param key 키
+     * @param defaultValue 기본값
+     * @return long 값 또는 기본값
+     */
+    public static long getLong(ContextKey<Long> key, long defaultValue) {
+        return getCurrentContext().getLong(key, defaultValue);
+    }
+
+    /**
+     * 컨텍스트에서 int 값을 박싱 없이 조회합니다.
+     *
+     * @param key 키
+     * @param defaultValue 기본값
+     * @return int 값 또는 기본값
+     */
+    public static int getInt(ContextKey<Integer> key, int defaultValue) {
+        return getCurrentContext().getInt(key, defaultValue);
+    }
+
     /**
      * 컨텍스트에서 문자열 값을 조회합니다.
      * 
@@ -159,21 +200,20 @@ public class ContextHolder {
     public static void clearContext() {
         CtxMap context = contextHolder.get();
         if (context != null) {
-            String guid = context.getString("guid", "unknown");
+            String guid = guidOf(context);
             log.debug("[GUID: {}] 컨텍스트가 제거되었습니다. Thread: {}", guid, Thread.currentThread().getName());
             contextHolder.remove();
         }
     }
 
     /**
-     * 현재 컨텍스트의 복사본을 반환합니다.
-     * 비동기 처리 등에서 컨텍스트를 전파할 때 사용합니다.
+     * 현재 컨텍스트의 스냅샷을 반환합니다. (저장소 참조만 공유하는 쓰기 시 복사, O(1))
+     * 비동기 처리나 이벤트 발행 등에서 컨텍스트를 전파할 때 사용합니다.
      * 
-     * @return 컨텍스트의 읽기 전용 복사본
+     * @return 이후 변경의 영향을 받지 않는 컨텍스트 복사본
      */
     public static CtxMap copyContext() {
-        CtxMap current = getCurrentContext();
-        return CtxMap.of(current.asReadOnlyMap());
+        return getCurrentContext().copy();
     }
 
     /**
@@ -185,11 +225,11 @@ public class ContextHolder {
      */
     public static void addClientInfo(String clientIp, String userAgent, String sessionId) {
         CtxMap context = getCurrentContext();
-        context.put("clientIp", clientIp)
-               .put("userAgent", userAgent);
+        context.put(ContextKey.CLIENT_IP, clientIp)
+               .put(ContextKey.USER_AGENT, userAgent);
         
         if (sessionId != null && !sessionId.trim().isEmpty()) {
-            context.put("sessionId", sessionId);
+            context.put(ContextKey.SESSION_ID, sessionId);
         }
     }
 
@@ -202,9 +242,23 @@ public class ContextHolder {
      */
     public static void addBusinessInfo(String customerId, Long orderId, Integer amount) {
         CtxMap context = getCurrentContext();
-        context.put("customerId", customerId)
-               .put("orderId", orderId)
-               .put("amount", amount);
+        context.put(ContextKey.CUSTOMER_ID, customerId)
+               .put(ContextKey.ORDER_ID, orderId)
+               .put(ContextKey.AMOUNT, amount);
+    }
+
+    /**
+     * 컨텍스트에 비즈니스 관련 정보를 박싱 없이 추가합니다.
+     * 
+     * @param customerId 고객 ID
+     * @param orderId 주문 ID
+     * @param amount 금액
+     */
+    public static void addBusinessInfo(String customerId, long orderId, int amount) {
+        CtxMap context = getCurrentContext();
+        context.put(ContextKey.CUSTOMER_ID, customerId)
+               .putLong(ContextKey.ORDER_ID, orderId)
+               .putInt(ContextKey.AMOUNT, amount);
     }
 
     /**
@@ -215,7 +269,12 @@ public class ContextHolder {
      */
     public static void addProcessingResult(String status, String message) {
         CtxMap context = getCurrentContext();
-        context.put("processingStatus", status)
-               .put("processingMessage", message);
+        context.put(ContextKey.PROCESSING_STATUS, status)
+               .put(ContextKey.PROCESSING_MESSAGE, message);
+    }
+
+    private static String guidOf(CtxMap context) {
+        String guid = context.get(ContextKey.GUID);
+        return guid != null ? guid : "unknown";
     }
 }
\ No newline at end of file
@@ -0,0 +1,119 @@
+package com.example.rollback.util;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 요청 컨텍스트({@link CtxMap})의 타입 지정 키입니다.
+ * 키마다 고정된 슬롯 번호가 있어 {@link CtxMap}은 해시 없이 배열로 값을 저장합니다.
+ * 숫자 키({@code Long}/{@code Integer})는 long 배열에 저장하므로 박싱 없이 읽고 쓸 수 있습니다.
+ *
+ * @param <T> 값 타입
+ */
+public final class ContextKey<T> {
+
+    /** 슬롯 번호 순 키 목록 */
+    private static final List<ContextKey<?>> KEYS = new ArrayList<>();
+
+    /** 이름별 키 (문자열 키 호환용) */
+    private static final Map<String, ContextKey<?>> BY_NAME = new HashMap<>();
+
+    // 요청 기본 정보
+    public static final ContextKey<String> GUID = of("guid", String.class);
+    public static final ContextKey<String> REQUEST_ID = of("requestId", String.class);
+    public static final ContextKey<Instant> REQUEST_TIME = of("requestTime", Instant.class);
+    public static final ContextKey<String> THREAD_NAME = of("threadName", String.class);
+
+    // 클라이언트 정보
+    public static final ContextKey<String> CLIENT_IP = of("clientIp", String.class);
+    public static final ContextKey<String> USER_AGENT = of("userAgent", String.class);
+    public static final ContextKey<String> SESSION_ID = of("sessionId", String.class);
+
+    // 비즈니스 정보
+    public static final ContextKey<String> CUSTOMER_ID = of("customerId", String.class);
+    public static final ContextKey<Long> ORDER_ID = of("orderId", Long.class);
+    public static final ContextKey<Integer> AMOUNT = of("amount", Integer.class);
+
+    // 처리 결과
+    public static final ContextKey<String> PROCESSING_STATUS = of("processingStatus", String.class);
+    public static final ContextKey<String> PROCESSING_MESSAGE = of("processingMessage", String.class);
+
+    /** 전체 슬롯 수 */
+    static final int SLOT_COUNT = KEYS.size();
+
+    /** 키 이름 (문자열 키 호환용) */
+    private final String name;
+
+    /** 값 타입 */
+    private final Class<T> type;
+
+    /** 슬롯 번호 */
+    private final int index;
+
+    /** long 배열 저장 여부 (Long/Integer) */
+    private final boolean numeric;
+
+    private ContextKey(String name, Class<T> type, int index) {
+        this.name = name;
+        this.type = type;
+        this.index = index;
+        this.numeric = type == Long.class || type == Integer.class;
+    }
+
+    private static <T> ContextKey<T> of(String name, Class<T> type) {
+        // 숫자 슬롯 존재 여부를 long 비트마스크로 관리하므로 64개까지
+        if (KEYS.size() >= Long.SIZE) {
+            throw new IllegalStateException("컨텍스트 키는 " + Long.SIZE + "개까지 정의할 수 있습니다");
+        }
+        ContextKey<T> key = new ContextKey<>(name, type, KEYS.size());
+        KEYS.add(key);
+        BY_NAME.put(name, key);
+        return key;
+    }
+
+    /**
+     * 이름에 해당하는 키를 반환합니다. (없으면 null)
+     */
+    static ContextKey<?> forName(String name) {
+        return BY_NAME.get(name);
+    }
+
+    /**
+     * 슬롯 번호에 해당하는 키를 반환합니다.
+     */
+    static ContextKey<?> at(int index) {
+        return KEYS.get(index);
+    }
+
+    /**
+     * 정의된 키 목록을 반환합니다.
+     */
+    public static List<ContextKey<?>> values() {
+        return Collections.unmodifiableList(KEYS);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public Class<T> type() {
+        return type;
+    }
+
+    int index() {
+        return index;
+    }
+
+    boolean isNumeric() {
+        return numeric;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -1,36 +1,81 @@
 package com.example.rollback.util;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serial;
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
 import java.util.Objects;
 
 /**
- * {@code Map<String, Object>} 래퍼입니다.
- * 타입 안전 접근자를 제공합니다.
+ * 요청 컨텍스트입니다.
+ * {@link ContextKey}로 정의된 키는 고정 슬롯 배열에 저장하고, 숫자 키는 long 배열에 박싱 없이 저장합니다.
+ * 기존 문자열 키 API는 그대로 제공하며, 정의되지 않은 키나 키 타입과 다른 값은 별도 맵에 저장합니다.
+ * <p>
+ * 복사는 쓰기 시 복사(copy-on-write)입니다. {@link #copy()}는 저장소 참조만 공유하고(O(1)),
+ * 이후 원본이나 복사본 중 먼저 쓰는 쪽이 저장소를 복제하므로 복사본은 복사 시점의 값을 유지합니다.
+ * 한 인스턴스는 한 스레드에서 사용하는 것을 전제로 하며, 다른 스레드로 넘길 때는 {@link #copy()}한 복사본을 넘깁니다.
+ * 여러 스레드가 함께 읽는 스냅샷은 {@link #frozen()}으로 만듭니다. 고정된 맵은 쓰기 시 예외를 던지고,
+ * {@link #copy()}해도 자신의 상태를 바꾸지 않습니다.
+ * <p>
+ * 직렬화 시에는 슬롯 배열 대신 문자열 키 맵({@link #asReadOnlyMap()})으로 기록하므로 슬롯 번호가 바뀌어도 호환됩니다.
  */
-public class CtxMap implements Serializable {
+public final class CtxMap implements Serializable {
 
     // 직렬화 UID
-    private static final long serialVersionUID = 20240114L;
+    @Serial
+    private static final long serialVersionUID = 20261017L;
 
-    /** 내부 저장소(동시성: ConcurrentHashMap) */
-    private final Map<String, Object> storage;
+    /** 참조 타입 키의 값 (슬롯 번호 순, 없으면 null) */
+    private transient Object[] slots;
+
+    /** 숫자 키(Long/Integer)의 값 (슬롯 번호 순) */
+    private transient long[] numbers;
+
+    /** 값이 있는 숫자 슬롯 비트마스크 */
+    private transient long numbersPresent;
+
+    /** 정의되지 않은 키 또는 키 타입과 다른 값 (필요할 때 생성) */
+    private transient Map<String, Object> extras;
+
+    /** 저장소를 다른 CtxMap과 공유 중인지 여부 (공유 중이면 쓰기 전에 복제) */
+    private transient boolean shared;
+
+    /** 읽기 전용 여부 (쓰기 시 {@link UnsupportedOperationException}) */
+    private boolean frozen;
 
     /** 빈 맵으로 생성합니다. */
     public CtxMap() {
-        this.storage = new ConcurrentHashMap<>();
+        this.slots = new Object[ContextKey.SLOT_COUNT];
+        this.numbers = new long[ContextKey.SLOT_COUNT];
     }
 
     /** 방어적 복사로 생성합니다. */
     public CtxMap(Map<String, Object> initial) {
-        this.storage = (initial != null) ? new ConcurrentHashMap<>(initial) : new ConcurrentHashMap<>();
+        this();
+        putAll(initial);
+    }
+
+    /** 저장소를 공유하는 복사본을 생성합니다. */
+    private CtxMap(CtxMap source, boolean frozen) {
+        this.slots = source.slots;
+        this.numbers = source.numbers;
+        this.numbersPresent = source.numbersPresent;
+        this.extras = source.extras;
+        this.shared = true;
+        this.frozen = frozen;
+        // 고정된 맵은 저장소를 바꾸지 않으므로 표시하지 않음 (여러 스레드에서 copy()해도 안전)
+        if (!source.frozen) {
+            source.shared = true;
+        }
     }
 
     /** 정적 팩토리입니다. */
@@ -43,19 +88,124 @@ public class CtxMap implements Serializable {
         return new CtxMap();
     }
 
-    /** 값을 저장합니다. */
+    /**
+     * 현재 상태의 복사본(스냅샷)을 반환합니다.
+     * 저장소를 복제하지 않고 참조만 공유하며, 이후 쓰기는 서로에게 영향을 주지 않습니다.
+     */
+    public CtxMap copy() {
+        return new CtxMap(this, false);
+    }
+
+    /**
+     * 현재 상태의 읽기 전용 스냅샷을 반환합니다.
+     * 스냅샷에 쓰면 {@link UnsupportedOperationException}이 발생하며, 스냅샷의 {@link #copy()}는 쓸 수 있는 복사본입니다.
+     */
+    public CtxMap frozen() {
+        return frozen ? this : new CtxMap(this, true);
+    }
+
+    /** 읽기 전용 스냅샷인지 확인합니다. */
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    /** 값을 저장합니다. (null이면 제거) */
     public CtxMap put(String key, Object value) {
+        checkWritable();
         if (key != null) {
-            storage.put(key, value);
+            store(key, value);
         }
         return this;
     }
 
     /** 다른 맵을 병합합니다. */
     public CtxMap putAll(Map<String, ?> other) {
+        checkWritable();
         if (other != null) {
-            storage.putAll(other);
+            for (Map.Entry<String, ?> e : other.entrySet()) {
+                put(e.getKey(), e.getValue());
+            }
+        }
+        return this;
+    }
+
+    // 타입 지정 키 접근자
+
+    /**
+     * 타입 지정 키의 값을 조회합니다. (없으면 null)
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(ContextKey<T> key) {
+        if (key.isNumeric()) {
+            return isNumberPresent(key) ? key.type().cast(boxed(key)) : null;
         }
+        return (T) slots[key.index()];
+    }
+
+    /**
+     * 타입 지정 키에 값을 저장합니다. (null이면 제거)
+     */
+    public <T> CtxMap put(ContextKey<T> key, T value) {
+        checkWritable();
+        removeExtra(key.name());
+        if (value == null) {
+            clearSlot(key);
+        } else if (key.isNumeric()) {
+            setNumber(key, ((Number) value).longValue());
+        } else {
+            setSlot(key, value);
+        }
+        return this;
+    }
+
+    /**
+     * long 값을 박싱 없이 저장합니다.
+     */
+    public CtxMap putLong(ContextKey<Long> key, long value) {
+        checkWritable();
+        removeExtra(key.name());
+        setNumber(key, value);
+        return this;
+    }
+
+    /**
+     * int 값을 박싱 없이 저장합니다.
+     */
+    public CtxMap putInt(ContextKey<Integer> key, int value) {
+        checkWritable();
+        removeExtra(key.name());
+        setNumber(key, value);
+        return this;
+    }
+
+    /**
+     * long 값을 박싱 없이 조회합니다. 값이 없으면 기본값을 반환합니다.
+     */
+    public long getLong(ContextKey<Long> key, long defaultValue) {
+        return isNumberPresent(key) ? numbers[key.index()] : defaultValue;
+    }
+
+    /**
+     * int 값을 박싱 없이 조회합니다. 값이 없으면 기본값을 반환합니다.
+     */
+    public int getInt(ContextKey<Integer> key, int defaultValue) {
+        return isNumberPresent(key) ? (int) numbers[key.index()] : defaultValue;
+    }
+
+    /**
+     * 타입 지정 키의 값이 있는지 확인합니다.
+     */
+    public boolean contains(ContextKey<?> key) {
+        return key.isNumeric() ? isNumberPresent(key) : slots[key.index()] != null;
+    }
+
+    /**
+     * 타입 지정 키의 값을 제거합니다.
+     */
+    public CtxMap remove(ContextKey<?> key) {
+        checkWritable();
+        clearSlot(key);
+        removeExtra(key.name());
         return this;
     }
 
@@ -70,7 +220,7 @@ public class CtxMap implements Serializable {
      * @return 타입에 맞는 값 또는 null
      */
     public <T> T getObject(String key, Class<T> type) {
-        Object value = storage.get(key);
+        Object value = value(key);
         // 값의 존재 여부 및 타입 일치 여부 확인 후 안전하게 캐스팅
         return (value != null && type.isInstance(value)) ? type.cast(value) : null;
     }
@@ -96,7 +246,7 @@ public class CtxMap implements Serializable {
      * @return 새로운 Map<String, Object> 인스턴스 또는 null
      */
     public Map<String, Object> getMap(String key) {
-        Object value = storage.get(key);
+        Object value = value(key);
         if (value instanceof Map<?, ?> m) {
             Map<String, Object> result = new HashMap<>();
             // 키 타입(String)만 허용
@@ -120,7 +270,7 @@ public class CtxMap implements Serializable {
      * @return 타입 캐스팅된 요소들을 담은 새로운 리스트 또는 null
      */
     public <T> List<T> getList(String key, Class<T> elementType) {
-        Object value = storage.get(key);
+        Object value = value(key);
         if (value instanceof List<?> list) {
             List<T> result = new ArrayList<>();
             // 요소 타입 검사
@@ -142,7 +292,7 @@ public class CtxMap implements Serializable {
      * @return 문자열 또는 기본값
      */
     public String getString(String key, String defaultValue) {
-        Object value = storage.get(key);
+        Object value = value(key);
         // String일 때만 반환
         if (value instanceof String s) {
             return s;
@@ -169,7 +319,11 @@ public class CtxMap implements Serializable {
      * @return 정수 또는 기본값
      */
     public int getInt(String key, int defaultValue) {
-        Object value = storage.get(key);
+        ContextKey<?> slot = ContextKey.forName(key);
+        if (slot != null && isNumberPresent(slot)) {
+            return (int) numbers[slot.index()];
+        }
+        Object value = value(key);
         // Number면 바로 변환
         if (value instanceof Number n) {
             return n.intValue();
@@ -195,7 +349,11 @@ public class CtxMap implements Serializable {
      * @see #getInt(String, int)
      */
     public long getLong(String key, long defaultValue) {
-        Object value = storage.get(key);
+        ContextKey<?> slot = ContextKey.forName(key);
+        if (slot != null && isNumberPresent(slot)) {
+            return numbers[slot.index()];
+        }
+        Object value = value(key);
         if (value instanceof Number n) {
             return n.longValue();
         }
@@ -219,7 +377,11 @@ public class CtxMap implements Serializable {
      * @see #getInt(String, int)
      */
     public double getDouble(String key, double defaultValue) {
-        Object value = storage.get(key);
+        ContextKey<?> slot = ContextKey.forName(key);
+        if (slot != null && isNumberPresent(slot)) {
+            return numbers[slot.index()];
+        }
+        Object value = value(key);
         if (value instanceof Number n) {
             return n.doubleValue();
         }
@@ -245,7 +407,7 @@ public class CtxMap implements Serializable {
      * @return 불리언 값 (기본값 false)
      */
     public boolean getBoolean(String key) {
-        Object value = storage.get(key);
+        Object value = value(key);
         // 1. Boolean 타입인 경우 직접 반환
         if (value instanceof Boolean b) {
             return b;
@@ -264,7 +426,7 @@ public class CtxMap implements Serializable {
      * 맵에 해당 키가 존재하는지 확인합니다.
      */
     public boolean containsKey(String key) {
-        return storage.containsKey(key);
+        return value(key) != null;
     }
 
     /**
@@ -275,7 +437,7 @@ public class CtxMap implements Serializable {
      * @return 텍스트 내용이 있으면 true
      */
     public boolean hasText(String key) {
-        Object value = storage.get(key);
+        Object value = value(key);
         if (value instanceof String s) {
             // String.isBlank()는 공백(whitespace)만으로 이루어진 문자열도 true를 반환
             return !s.isBlank();
@@ -291,43 +453,81 @@ public class CtxMap implements Serializable {
      * @return 읽기 전용 맵
      */
     public Map<String, Object> asReadOnlyMap() {
-        // 방어적 복사: 새로운 HashMap을 만들어 현재 상태를 복사한 후, 이를 수정 불가 맵으로 만듦
-        return Collections.unmodifiableMap(new HashMap<>(storage));
+        Map<String, Object> result = new HashMap<>();
+        for (int i = 0; i < slots.length; i++) {
+            ContextKey<?> key = ContextKey.at(i);
+            if (contains(key)) {
+                result.put(key.name(), key.isNumeric() ? boxed(key) : slots[i]);
+            }
+        }
+        if (extras != null) {
+            result.putAll(extras);
+        }
+        return Collections.unmodifiableMap(result);
     }
 
     /**
      * 키를 제거하고, 제거된 값을 반환합니다.
      */
     public Object remove(String key) {
-        return storage.remove(key);
+        checkWritable();
+        Object previous = value(key);
+        ContextKey<?> slot = ContextKey.forName(key);
+        if (slot != null) {
+            clearSlot(slot);
+        }
+        removeExtra(key);
+        return previous;
     }
 
     /**
      * 맵의 모든 요소를 제거합니다.
      */
     public void clear() {
-        storage.clear();
+        checkWritable();
+        if (shared) {
+            // 공유 중인 저장소는 건드리지 않고 새로 할당
+            slots = new Object[ContextKey.SLOT_COUNT];
+            numbers = new long[ContextKey.SLOT_COUNT];
+            shared = false;
+        } else {
+            Arrays.fill(slots, null);
+            Arrays.fill(numbers, 0L);
+        }
+        numbersPresent = 0L;
+        extras = null;
     }
 
     /**
      * 맵의 크기(엔트리 수)를 반환합니다.
      */
     public int size() {
-        return storage.size();
+        int size = Long.bitCount(numbersPresent) + (extras != null ? extras.size() : 0);
+        for (Object slot : slots) {
+            if (slot != null) {
+                size++;
+            }
+        }
+        return size;
     }
 
     /**
      * 맵이 비어있는지 확인합니다.
      */
     public boolean isEmpty() {
-        return storage.isEmpty();
+        return size() == 0;
     }
 
     /**
      * 키가 존재하지 않을 경우에만 값을 삽입합니다.
      */
     public Object putIfAbsent(String key, Object value) {
-        return storage.putIfAbsent(key, value);
+        checkWritable();
+        Object previous = value(key);
+        if (previous == null) {
+            put(key, value);
+        }
+        return previous;
     }
 
     /**
@@ -335,12 +535,138 @@ public class CtxMap implements Serializable {
      */
     public Object merge(String key, Object value, BiFunction<Object, Object, Object> remappingFunction) {
         Objects.requireNonNull(remappingFunction);
-        return storage.merge(key, value, remappingFunction);
+        checkWritable();
+        Object previous = value(key);
+        Object merged = (previous == null) ? value : remappingFunction.apply(previous, value);
+        put(key, merged);
+        return merged;
+    }
+
+    // --- 내부 저장소 ---
+
+    /**
+     * 문자열 키의 값을 반환합니다. (숫자 슬롯 값은 박싱)
+     */
+    private Object value(String key) {
+        ContextKey<?> slot = ContextKey.forName(key);
+        if (slot != null && contains(slot)) {
+            return slot.isNumeric() ? boxed(slot) : slots[slot.index()];
+        }
+        return extras != null ? extras.get(key) : null;
+    }
+
+    /**
+     * 문자열 키로 값을 저장합니다. 키 타입과 같은 값만 슬롯에 저장합니다.
+     */
+    private void store(String key, Object value) {
+        ContextKey<?> slot = ContextKey.forName(key);
+        if (slot != null) {
+            clearSlot(slot);
+        }
+        if (value == null) {
+            removeExtra(key);
+            return;
+        }
+        if (slot != null && slot.type().isInstance(value)) {
+            removeExtra(key);
+            if (slot.isNumeric()) {
+                setNumber(slot, ((Number) value).longValue());
+            } else {
+                setSlot(slot, value);
+            }
+            return;
+        }
+        // 정의되지 않은 키 또는 키 타입과 다른 값 (문자열 키로만 조회 가능)
+        extras().put(key, value);
+    }
+
+    private Object boxed(ContextKey<?> key) {
+        long value = numbers[key.index()];
+        return key.type() == Integer.class ? (Object) (int) value : (Object) value;
+    }
+
+    private boolean isNumberPresent(ContextKey<?> key) {
+        return (numbersPresent & (1L << key.index())) != 0;
+    }
+
+    private void setSlot(ContextKey<?> key, Object value) {
+        beforeWrite();
+        slots[key.index()] = value;
+    }
+
+    private void setNumber(ContextKey<?> key, long value) {
+        beforeWrite();
+        numbers[key.index()] = value;
+        numbersPresent |= 1L << key.index();
+    }
+
+    private void clearSlot(ContextKey<?> key) {
+        if (!contains(key)) {
+            return;
+        }
+        beforeWrite();
+        slots[key.index()] = null;
+        numbers[key.index()] = 0L;
+        numbersPresent &= ~(1L << key.index());
+    }
+
+    private Map<String, Object> extras() {
+        beforeWrite();
+        if (extras == null) {
+            extras = new HashMap<>();
+        }
+        return extras;
+    }
+
+    private void removeExtra(String key) {
+        if (extras != null && extras.containsKey(key)) {
+            beforeWrite();
+            extras.remove(key);
+        }
+    }
+
+    /**
+     * 읽기 전용 스냅샷이면 예외를 던집니다.
+     */
+    private void checkWritable() {
+        if (frozen) {
+            throw new UnsupportedOperationException("읽기 전용 컨텍스트입니다");
+        }
+    }
+
+    /**
+     * 저장소를 공유 중이면 쓰기 전에 복제합니다.
+     */
+    private void beforeWrite() {
+        if (shared) {
+            slots = slots.clone();
+            numbers = numbers.clone();
+            extras = (extras != null && !extras.isEmpty()) ? new HashMap<>(extras) : null;
+            shared = false;
+        }
+    }
+
+    @Serial
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeObject(new HashMap<>(asReadOnlyMap()));
+    }
+
+    @Serial
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        boolean readOnly = frozen;
+        frozen = false;
+        slots = new Object[ContextKey.SLOT_COUNT];
+        numbers = new long[ContextKey.SLOT_COUNT];
+        putAll((Map<String, Object>) in.readObject());
+        frozen = readOnly;
     }
 
     @Override
     public String toString() {
-        return "CtxMap" + storage;
+        return "CtxMap" + asReadOnlyMap();
     }
 
     @Override
@@ -350,13 +676,12 @@ public class CtxMap implements Serializable {
         if (o == null || getClass() != o.getClass())
             return false;
         CtxMap ctxMap = (CtxMap) o;
-        // 내부 저장소(storage)의 내용이 동일한지 비교
-        return Objects.equals(storage, ctxMap.storage);
+        // 저장된 키와 값이 동일한지 비교
+        return asReadOnlyMap().equals(ctxMap.asReadOnlyMap());
     }
 
     @Override
     public int hashCode() {
-        // 내부 저장소(storage)를 기반으로 해시코드 생성
-        return Objects.hash(storage);
+        return asReadOnlyMap().hashCode();
     }
 }
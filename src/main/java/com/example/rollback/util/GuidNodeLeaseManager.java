@@ -0,0 +1,200 @@
+package com.example.rollback.util;
+
+import com.example.rollback.config.GuidProperties;
+import com.example.rollback.domain.GuidNodeLease;
+import com.example.rollback.repository.GuidNodeLeaseRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * GUID 노드 식별자(11자리)를 DB 임대로 발급하고 유지합니다.
+ * 형식: [노드 번호 Base26(4)] + [임대 세대 Base26(7)]
+ * <p>
+ * 노드 번호는 인스턴스가 임대하는 동안 다른 인스턴스에 발급되지 않고, 만료된 번호를 넘겨받으면 세대가 1 증가합니다.
+ * 같은 (노드 번호, 세대)는 한 인스턴스만 가지므로, 갱신이 늦어져 임대를 빼앗겨도 이미 발급한 GUID와 겹치지 않습니다.
+ * 임대를 잃으면 새 노드 번호를 임대해 식별자를 바꾸며, GUID 발급 경로는 식별자를 읽기만 합니다.
+ */
+@Slf4j
+@Component
+public final class GuidNodeLeaseManager {
+
+    private static final int IDENTIFIER_LENGTH = 11; // GUID 총 길이 30을 맞추기 위한 노드 식별자 길이
+    private static final int NODE_ID_LENGTH = 4;
+    private static final int GENERATION_LENGTH = IDENTIFIER_LENGTH - NODE_ID_LENGTH;
+    private static final long GENERATION_LIMIT = 26L * 26 * 26 * 26 * 26 * 26 * 26; // 26^7
+
+    /** 임대 시도 최대 횟수 (다른 인스턴스와 같은 번호를 두고 경쟁한 경우 다시 시도) */
+    private static final int MAX_ACQUIRE_ATTEMPTS = 10;
+
+    /** 임대 설정 */
+    private final GuidProperties.NodeLease settings;
+
+    /** 임대 저장소 */
+    private final GuidNodeLeaseRepository leaseRepository;
+
+    /** 이 인스턴스 이름 (참고용) */
+    private final String owner;
+
+    /** 현재 임대 (임대 미사용 시 null) */
+    private volatile GuidNodeLease lease;
+
+    /** 현재 노드 식별자 (ASCII 11바이트) */
+    private volatile byte[] identifier;
+
+    /**
+     * 생성자입니다. 임대를 사용하면 노드 번호를 임대할 때까지 기다리며, 임대하지 못하면 시작을 중단합니다.
+     */
+    public GuidNodeLeaseManager(GuidProperties guidProperties, GuidNodeLeaseRepository leaseRepository) {
+        this.settings = guidProperties.getNodeLease();
+        this.leaseRepository = leaseRepository;
+        this.owner = hostname() + "/" + UUID.randomUUID();
+
+        if (!settings.isEnabled()) {
+            this.identifier = randomIdentifier().getBytes(StandardCharsets.US_ASCII);
+            log.warn("GUID 노드 임대를 사용하지 않습니다. 무작위 노드 식별자를 사용합니다. [{}]", getIdentifier());
+            return;
+        }
+        if (settings.getHeartbeatIntervalMs() >= settings.getTtlMs()) {
+            throw new IllegalArgumentException("GUID 노드 임대 갱신 주기는 유지 시간보다 짧아야 합니다");
+        }
+        if (settings.getMaxNodes() < 1 || settings.getMaxNodes() > 26 * 26 * 26 * 26) {
+            throw new IllegalArgumentException("GUID 최대 노드 수는 1 이상 26^4 이하여야 합니다");
+        }
+        assign(acquire());
+    }
+
+    /**
+     * 현재 노드 식별자 바이트를 반환합니다. (ASCII 11바이트, 변경하지 말 것)
+     */
+    byte[] identifierBytes() {
+        return identifier;
+    }
+
+    /**
+     * 현재 노드 식별자를 반환합니다.
+     */
+    public String getIdentifier() {
+        return new String(identifier, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * 임대를 주기적으로 연장합니다. 다른 인스턴스가 넘겨받았으면 새로 임대합니다.
+     * DB 오류 시에는 현재 식별자를 계속 사용합니다. (넘겨받은 쪽은 다음 세대를 쓰므로 겹치지 않음)
+     */
+    @Scheduled(fixedDelayString = "${banking.guid.node-lease.heartbeat-interval-ms:10000}")
+    public void heartbeat() {
+        GuidNodeLease current = lease;
+        if (current == null) {
+            return;
+        }
+        try {
+            if (leaseRepository.renew(current.getNodeId(), current.getGeneration(), settings.getTtlMs()) == 0) {
+                log.warn("GUID 노드 임대를 잃었습니다. 새로 임대합니다. - 노드: {}, 세대: {}",
+                        current.getNodeId(), current.getGeneration());
+                assign(acquire());
+            }
+        } catch (Exception ex) {
+            log.warn("GUID 노드 임대 갱신 실패 - 노드: {}, 예외: {}", current.getNodeId(), ex.getClass().getSimpleName());
+        }
+    }
+
+    /**
+     * 종료 시 임대를 즉시 만료시켜 다른 인스턴스가 노드 번호를 재사용할 수 있게 합니다.
+     */
+    @PreDestroy
+    public void release() {
+        GuidNodeLease current = lease;
+        if (current == null) {
+            return;
+        }
+        try {
+            leaseRepository.release(current.getNodeId(), current.getGeneration());
+            log.info("GUID 노드 임대 반환 - 노드: {}, 세대: {}", current.getNodeId(), current.getGeneration());
+        } catch (Exception ex) {
+            log.warn("GUID 노드 임대 반환 실패 - 노드: {}, 예외: {}", current.getNodeId(), ex.getClass().getSimpleName());
+        }
+    }
+
+    /**
+     * 만료된 노드 번호를 다음 세대로 넘겨받거나, 없으면 새 노드 번호를 임대합니다.
+     */
+    private GuidNodeLease acquire() {
+        for (int attempt = 1; attempt <= MAX_ACQUIRE_ATTEMPTS; attempt++) {
+            GuidNodeLease expired = leaseRepository.findFirstExpired();
+            if (expired != null) {
+                if (leaseRepository.takeOver(expired.getNodeId(), expired.getGeneration(), owner, settings.getTtlMs()) == 1) {
+                    return leaseOf(expired.getNodeId(), expired.getGeneration() + 1);
+                }
+                continue;
+            }
+
+            int nodeId = leaseRepository.findNextNodeId();
+            if (nodeId >= settings.getMaxNodes()) {
+                throw new IllegalStateException("임대 가능한 GUID 노드 번호가 없습니다. (최대 노드 수: " + settings.getMaxNodes() + ")");
+            }
+            try {
+                leaseRepository.insert(nodeId, owner, settings.getTtlMs());
+                return leaseOf(nodeId, 0);
+            } catch (DuplicateKeyException ex) {
+                log.debug("GUID 노드 번호 경합 - 노드: {} (시도 횟수: {})", nodeId, attempt);
+            }
+        }
+        throw new IllegalStateException("GUID 노드 번호를 임대하지 못했습니다. (시도 횟수: " + MAX_ACQUIRE_ATTEMPTS + ")");
+    }
+
+    private GuidNodeLease leaseOf(int nodeId, long generation) {
+        GuidNodeLease acquired = new GuidNodeLease();
+        acquired.setNodeId(nodeId);
+        acquired.setGeneration(generation);
+        acquired.setOwner(owner);
+        return acquired;
+    }
+
+    private void assign(GuidNodeLease acquired) {
+        this.identifier = (toFixedBase26(acquired.getNodeId(), NODE_ID_LENGTH)
+                + toFixedBase26(acquired.getGeneration() % GENERATION_LIMIT, GENERATION_LENGTH))
+                .getBytes(StandardCharsets.US_ASCII);
+        this.lease = acquired;
+        log.info("GUID 노드 임대 완료 - 노드: {}, 세대: {}, 식별자: [{}]",
+                acquired.getNodeId(), acquired.getGeneration(), getIdentifier());
+    }
+
+    private static String toFixedBase26(long value, int length) {
+        String digits = GuidQueue.toBase26(value);
+        return "0".repeat(length - digits.length()) + digits;
+    }
+
+    private static String hostname() {
+        // Kubernetes에서는 HOSTNAME 환경 변수가 Pod 이름으로 설정됨
+        String hostname = System.getenv("HOSTNAME");
+        if (hostname != null && !hostname.isEmpty()) {
+            return hostname;
+        }
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException ex) {
+            return "localhost";
+        }
+    }
+
+    /**
+     * 호스트명과 랜덤 UUID로 만든 11자리 식별자입니다. (임대 미사용 시, 인스턴스 간 중복 가능성 있음)
+     */
+    private static String randomIdentifier() {
+        String randomId = UUID.randomUUID().toString();
+        long hash = Math.abs((hostname() + randomId).hashCode());
+        String identifier = (GuidQueue.toBase26(hash) + randomId).replace("-", "");
+        if (identifier.length() > IDENTIFIER_LENGTH) {
+            identifier = identifier.substring(0, IDENTIFIER_LENGTH);
+        }
+        return String.format("%-" + IDENTIFIER_LENGTH + "s", identifier).replace(' ', '0').toUpperCase();
+    }
+}
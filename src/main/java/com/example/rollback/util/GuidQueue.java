@@ -1,21 +1,33 @@
 package com.example.rollback.util;
 
-import java.net.InetAddress;
-import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.concurrent.*;
-import java.util.UUID;
+import java.time.ZoneOffset;
 import java.util.concurrent.atomic.AtomicLong;
 
-import jakarta.annotation.PostConstruct;
-import jakarta.annotation.PreDestroy;
+import com.example.rollback.config.GuidProperties;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 /**
- * GUID를 미리 생성하여 큐에 저장하고, 요청 시 제공하는 싱글톤 클래스입니다.
- * 생산자-소비자 패턴을 사용하여 GUID 생성과 사용을 분리합니다.
+ * 30자리 GUID를 잠금 없이 생성하는 싱글톤 클래스입니다.
+ * 형식: [UTC 시각 yyyyMMddHHmmss(14)] + [노드 식별자(11)] + [초 단위 시퀀스 Base26(5)]
+ * <p>
+ * 노드 식별자는 {@link GuidNodeLeaseManager}가 DB 임대로 인스턴스마다 겹치지 않게 발급하며, 발급 경로에서는 읽기만 합니다.
+ * <p>
+ * (초, 시퀀스)를 하나의 {@link AtomicLong}에 담아 CAS로 갱신하므로 생산자 스레드나 대기 없이 호출 스레드에서 바로 생성됩니다.
+ * 한 초에 26^5(약 1,188만)개까지 중복 없이 발급하고, 다 쓰면 다음 초를 미리 사용합니다.
+ * 시계가 뒤로 가도 마지막으로 발급한 초를 계속 쓰므로, SHARED 방식에서는 노드 전체에서 GUID가 발급 순서대로 증가합니다.
+ * <p>
+ * THREAD_BLOCK 방식({@code banking.guid.mode})에서는 플랫폼 스레드마다 시퀀스 블록을 예약해 두고 동기화 없이 발급하므로,
+ * 코어 수가 늘어도 공유 카운터(캐시 라인) 경합이 블록 예약 때만 생깁니다.
+ * 블록은 예약한 초가 지나면 버리고 새로 받으므로 GUID 시각은 발급 시각보다 늦지 않습니다.
+ * 대신 GUID는 스레드 안에서만 증가합니다. 다른 스레드가 먼저 예약한 블록의 GUID가 나중에 발급될 수 있으므로,
+ * 노드 전체의 GUID 순서는 발급 순서와 다를 수 있습니다. (중복 없음은 그대로 보장)
+ * 가상 스레드는 요청마다 새로 만들어져 블록을 재사용할 수 없으므로(캐리어 스레드는 공개 API로 알 수 없음) 공유 카운터로 발급합니다.
+ * <p>
+ * 시각 14자리는 초마다 한 번만 계산해 캐시하고, 30자리는 스레드별 버퍼에 바로 써서 최종 String 하나만 생성합니다.
  */
 @Slf4j
 @Component
@@ -25,128 +37,157 @@ public class GuidQueue {
     // 0-9 + A-P (26자)
     private static final char[] HEX_CHAR = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ".toCharArray();
 
-    /** Kubernetes Pod 환경에서 각 Pod를 고유하게 식별하기 위한 값 */
-    private static final String POD_UNIQUE_IDENTIFIER = PodIdentifierGenerator.generate();
+    private static final int TIMESTAMP_LENGTH = 14; // yyyyMMddHHmmss
+    private static final int NODE_IDENTIFIER_LENGTH = 11;
+    private static final int GUID_LENGTH = 30; // 시각(14) + 노드 식별자(11) + 시퀀스(5)
 
-    /** 생성된 GUID를 저장하는 큐 */
-    private final LinkedBlockingQueue<String> queue;
+    private static final int BASE26_SEQUENCE_LENGTH = 5; // Base26으로 변환된 시퀀스 번호의 길이
+    private static final long SEQUENCE_LIMIT = 26L * 26 * 26 * 26 * 26; // 초당 발급 가능한 시퀀스 수 (26^5)
+    private static final int SEQUENCE_BITS = 24; // 상태 값에서 시퀀스가 차지하는 하위 비트 수 (2^24 > 26^5)
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
 
-    /** GUID 시퀀스 번호를 생성하기 위한 원자적 카운터 */
-    private static final AtomicLong atomicCounter = new AtomicLong(0);
+    /** GUID 시각 기준 시간대 (서머타임이 끝날 때 같은 시각이 두 번 나오지 않도록 UTC) */
+    private static final ZoneOffset ZONE = ZoneOffset.UTC;
 
-    private static final int QUEUE_SIZE = 20; // 큐의 최대 크기
-    private static final long COUNTER_RESET_THRESHOLD = 30L; // 시퀀스 카운터가 초기화되는 임계값
-    private static final int BASE26_SEQUENCE_LENGTH = 5; // Base26으로 변환된 시퀀스 번호의 길이
+    /** 마지막으로 발급(예약)한 (epoch 초 << 24 | 시퀀스) */
+    private final AtomicLong lastIssued = new AtomicLong(0);
 
-    /** GUID를 생성하는 생산자 스레드를 관리하는 ExecutorService */
-    private final ExecutorService producerExecutor;
+    /** 스레드별 시퀀스 블록 (THREAD_BLOCK 방식) */
+    private final ThreadLocal<SequenceBlock> blocks = ThreadLocal.withInitial(SequenceBlock::new);
 
-    /**
-     * 생성자: 큐와 ExecutorService를 초기화합니다.
-     */
-    public GuidQueue() {
-        this.queue = new LinkedBlockingQueue<>(QUEUE_SIZE);
-        this.producerExecutor = Executors.newSingleThreadExecutor(r -> {
-            Thread t = new Thread(r, "guid-producer");
-            t.setDaemon(true);
-            return t;
-        });
-    }
+    /** 스레드별 GUID 작성 버퍼 */
+    private final ThreadLocal<byte[]> buffers = ThreadLocal.withInitial(() -> new byte[GUID_LENGTH]);
 
-    @PostConstruct
-    public void startGuidProducer() {
-        producerExecutor.submit(() -> {
-            try {
-                produceGuids(); // GUID 생산 시작
-            } catch (InterruptedException ex) {
-                Thread.currentThread().interrupt(); // 인터럽트 상태 복원
-                log.warn("GUID 생성 스레드가 중단되었습니다.", ex.getClass().getSimpleName());
-            }
-        });
-    }
+    /** 마지막으로 계산한 초의 시각 14자리 (경쟁 시 같은 값을 다시 계산할 뿐이므로 동기화하지 않음) */
+    private volatile TimestampPrefix timestampPrefix = new TimestampPrefix(-1, new byte[TIMESTAMP_LENGTH]);
+
+    /** 노드 식별자 임대 */
+    private final GuidNodeLeaseManager nodeLease;
+
+    /** 스레드별 블록 발급 여부 */
+    private final boolean threadBlocks;
+
+    /** 블록 하나의 시퀀스 수 */
+    private final int blockSize;
 
-    @PreDestroy
-    public void shutdown() {
-        producerExecutor.shutdownNow();
+    /**
+     * 생성자입니다.
+     */
+    public GuidQueue(GuidProperties guidProperties, GuidNodeLeaseManager nodeLease) {
+        if (guidProperties.getBlockSize() < 1) {
+            throw new IllegalArgumentException("GUID 블록 크기는 1 이상이어야 합니다");
+        }
+        this.nodeLease = nodeLease;
+        this.threadBlocks = guidProperties.getMode() == GuidProperties.Mode.THREAD_BLOCK;
+        this.blockSize = guidProperties.getBlockSize();
+        log.info("GUID 발급 방식: {} (블록 크기: {})", guidProperties.getMode(), blockSize);
     }
 
     /**
-     * 지속적으로 GUID를 생성하여 큐에 추가합니다.
-     * 큐가 가득 차면 공간이 생길 때까지 대기합니다.
-     * 
-     * @throws InterruptedException 스레드가 대기 중 중단될 경우
+     * 새 GUID를 생성합니다. (잠금/대기 없음)
+     *
+     * @return 최종 포맷팅된 30자리 GUID
      */
-    public void produceGuids() throws InterruptedException {
-        do {
-            String guid = getPidSeqGUID();
-            log.debug("produceGuids GUID: [{}]", guid);
-            queue.put(guid); // 큐가 가득 차면 여기서 대기
-        } while (true); // 큐를 계속 채움
+    public String getGUID() {
+        long issued = threadBlocks && !Thread.currentThread().isVirtual()
+                ? nextFromThreadBlock()
+                : reserve(1);
+        long second = issued >>> SEQUENCE_BITS;
+        long sequence = issued & SEQUENCE_MASK;
+
+        // 최종 GUID: [시각(14)] + [노드 식별자(11)] + [시퀀스(5)] = 30자
+        byte[] buffer = buffers.get();
+        System.arraycopy(timestampOf(second), 0, buffer, 0, TIMESTAMP_LENGTH);
+        System.arraycopy(nodeLease.identifierBytes(), 0, buffer, TIMESTAMP_LENGTH, NODE_IDENTIFIER_LENGTH);
+        for (int i = GUID_LENGTH - 1; i >= GUID_LENGTH - BASE26_SEQUENCE_LENGTH; i--) {
+            buffer[i] = (byte) HEX_CHAR[(int) (sequence % 26)];
+            sequence /= 26;
+        }
+        return new String(buffer, 0, GUID_LENGTH, StandardCharsets.US_ASCII);
     }
 
     /**
-     * 프로세스 ID와 시퀀스 번호를 포함한 원본 GUID를 생성합니다.
-     * 
-     * @return PID와 시퀀스를 포함한 GUID
+     * 현재 스레드의 블록에서 (초, 시퀀스)를 발급합니다. 블록을 다 썼거나 블록의 초가 지났으면 새로 예약합니다.
      */
-    public String getPidSeqGUID() {
-        return String.format("%s%s", POD_UNIQUE_IDENTIFIER, generateAtomicGUID());
+    private long nextFromThreadBlock() {
+        SequenceBlock block = blocks.get();
+        if (block.next == block.end || (block.next >>> SEQUENCE_BITS) < currentSecond()) {
+            long start = reserve(blockSize);
+            block.next = start;
+            block.end = start + granted(start, blockSize);
+        }
+        return block.next++;
     }
 
     /**
-     * 원자적 연산을 통해 고유한 시퀀스 번호를 생성하고 Base 26으로 변환합니다.
-     * 
-     * @return Base 26으로 인코딩된 시퀀스 문자열
+     * 연속된 (초, 시퀀스) 최대 {@code count}개를 CAS로 예약하고 첫 값을 반환합니다. (예약 수는 {@link #granted})
+     * 현재 초가 지나면 시퀀스를 0부터 다시 쓰고, 같은 초(또는 시계 역행)면 마지막 시퀀스 다음부터 쓰며,
+     * 시퀀스를 다 쓰면 다음 초의 0번부터 씁니다. 한 블록은 초를 넘지 않습니다.
      */
-    private static String generateAtomicGUID() {
-        // 카운터 값을 1 증가시킴
-        long currentValue = atomicCounter.incrementAndGet();
-        // 카운터가 임계값에 도달하면 0으로 초기화
-        if (currentValue >= COUNTER_RESET_THRESHOLD) {
-            atomicCounter.set(0);
-            currentValue = atomicCounter.incrementAndGet();
+    private long reserve(int count) {
+        while (true) {
+            long now = currentSecond();
+            long last = lastIssued.get();
+            long lastSecond = last >>> SEQUENCE_BITS;
+
+            long start;
+            if (now > lastSecond) {
+                start = now << SEQUENCE_BITS;
+            } else if ((last & SEQUENCE_MASK) + 1 < SEQUENCE_LIMIT) {
+                start = last + 1;
+            } else {
+                start = (lastSecond + 1) << SEQUENCE_BITS;
+            }
+
+            if (lastIssued.compareAndSet(last, start + granted(start, count) - 1)) {
+                return start;
+            }
         }
-        // 현재 값을 Base 26 형식으로 변환
-        String base26Value = toBase26(currentValue);
-        // 5자리로 맞추기 위해 왼쪽에 '0'을 채움
-        return String.format("%" + BASE26_SEQUENCE_LENGTH + "s", base26Value).replace(' ', '0');
     }
 
     /**
-     * 큐에서 GUID를 가져와 최종 형식으로 포맷팅하여 반환합니다.
-     * 큐가 비어있으면 새로운 GUID가 생성될 때까지 대기합니다.
-     * 
-     * @return 최종 포맷팅된 30자리 GUID
-     * @throws InterruptedException 스레드가 대기 중 중단될 경우
+     * {@code start}부터 같은 초 안에서 예약되는 시퀀스 수를 반환합니다.
      */
-    public String getGUID() throws InterruptedException { // 최종 30자리 GUID 반환
-        // 큐에서 원본 GUID를 가져옴 (큐가 비어있으면 여기서 대기)
-        String uniquePart = queue.take(); // POD_UNIQUE_IDENTIFIER(11) + 시퀀스(5) = 16자
-        // 최종 GUID: [현재시간(14)] + [고유식별부분(16)] = 30자
-        String finalGuid = getCurrentDate() + uniquePart;
-        // 최종 GUID를 30자리로 포맷팅하여 반환
-        return getFormatGUID(finalGuid);
+    private static long granted(long start, int count) {
+        return Math.min(count, SEQUENCE_LIMIT - (start & SEQUENCE_MASK));
+    }
+
+    private static long currentSecond() {
+        return System.currentTimeMillis() / 1000;
     }
 
     /**
-     * 현재 날짜와 시간을 "yyyyMMddHHmmss" 형식의 문자열로 반환합니다.
-     * 
-     * @return 포맷팅된 현재 날짜와 시간 문자열
+     * epoch 초의 "yyyyMMddHHmmss" 14자리를 반환합니다. (같은 초는 캐시 사용)
      */
-    private static String getCurrentDate() {
-        return LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
+    private byte[] timestampOf(long epochSecond) {
+        TimestampPrefix cached = timestampPrefix;
+        if (cached.second() != epochSecond) {
+            cached = new TimestampPrefix(epochSecond, formatTimestamp(epochSecond));
+            timestampPrefix = cached;
+        }
+        return cached.digits();
     }
 
     /**
-     * GUID를 30자리로 포맷팅합니다.
-     * 30자보다 길면 자르고, 짧으면 오른쪽에 '0'을 채웁니다.
-     * 
-     * @param rawGUID 원본 GUID 문자열
-     * @return 30자리로 포맷팅된 GUID
+     * epoch 초를 "yyyyMMddHHmmss" 형식의 ASCII 바이트로 변환합니다.
      */
-    private static String getFormatGUID(String rawGUID) {
-        // 30자리가 안되면 오른쪽을 '0'으로 채워서 30자리로 만들고, 넘으면 30자리로 자름
-        return rawGUID.length() >= 30 ? rawGUID.substring(0, 30) : String.format("%-30s", rawGUID).replace(' ', '0');
+    private static byte[] formatTimestamp(long epochSecond) {
+        LocalDateTime time = LocalDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), ZONE);
+        byte[] digits = new byte[TIMESTAMP_LENGTH];
+        writeDigits(digits, 0, time.getYear(), 4);
+        writeDigits(digits, 4, time.getMonthValue(), 2);
+        writeDigits(digits, 6, time.getDayOfMonth(), 2);
+        writeDigits(digits, 8, time.getHour(), 2);
+        writeDigits(digits, 10, time.getMinute(), 2);
+        writeDigits(digits, 12, time.getSecond(), 2);
+        return digits;
+    }
+
+    private static void writeDigits(byte[] target, int offset, int value, int length) {
+        for (int i = offset + length - 1; i >= offset; i--) {
+            target[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
     }
 
     /**
@@ -174,37 +215,16 @@ public class GuidQueue {
     }
 
     /**
-     * Kubernetes 환경에서 Pod를 고유하게 식별하는 ID를 생성하는 내부 클래스.
+     * 초별 시각 14자리 캐시입니다. ({@code digits}는 생성 후 변경하지 않음)
      */
-    private static class PodIdentifierGenerator {
-        private static final int IDENTIFIER_LENGTH = 11; // 13 -> 11로 변경하여 총 GUID 길이를 30으로 맞춤
-
-        public static String generate() {
-            // 1. HOSTNAME 환경 변수 (Kubernetes에서 Pod 이름으로 자동 설정됨)
-            String hostname = System.getenv("HOSTNAME");
-            if (hostname == null || hostname.isEmpty()) {
-
-                try {
-                    hostname = InetAddress.getLocalHost().getHostName();
-                } catch (UnknownHostException ex) {
-                    hostname = "localhost";
-                }
-                log.warn("HOSTNAME 환경 변수를 찾을 수 없습니다. 로컬 개발 환경으로 간주합니다. [{}]", hostname);                
-            }
-
-            // 2. 애플리케이션 시작 시 생성되는 랜덤 UUID
-            String randomId = UUID.randomUUID().toString();
-
-            // 3. 호스트명과 랜덤 ID를 조합하여 해시 생성 후 Base26으로 변환
-            long hash = Math.abs((hostname + randomId).hashCode());
-            String base26Hash = toBase26(hash);
+    private record TimestampPrefix(long second, byte[] digits) {
+    }
 
-            // 4. 11자리로 고정
-            String identifier = (base26Hash + randomId).replace("-", ""); // 하이픈 제거
-            if (identifier.length() > IDENTIFIER_LENGTH) {
-                identifier = identifier.substring(0, IDENTIFIER_LENGTH);
-            }
-            return String.format("%-" + IDENTIFIER_LENGTH + "s", identifier).replace(' ', '0').toUpperCase();
-        }
+    /**
+     * 스레드가 예약한 시퀀스 블록입니다. ([next, end) 구간, 해당 스레드만 접근)
+     */
+    private static final class SequenceBlock {
+        private long next;
+        private long end;
     }
 }
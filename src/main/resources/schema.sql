@@ -35,6 +35,8 @@ CREATE TABLE IF NOT EXISTS accounts (
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP, -- 최종 수정 일시
     last_transaction_at TIMESTAMP, -- 마지막 거래 일시
     account_holder_name VARCHAR(100) NOT NULL, -- 계좌주 이름
+    stripe_count INT NOT NULL DEFAULT 0, -- 분할 잔액(stripe) 수 (0이면 미사용)
+    version BIGINT NOT NULL DEFAULT 0, -- 낙관적 락 버전 (변경 시마다 1 증가)
     FOREIGN KEY (customer_id) REFERENCES customers(id),
     -- 추가 제약조건
     CONSTRAINT chk_account_type CHECK (account_type IN ('CHECKING', 'SAVINGS', 'CREDIT', 'BUSINESS')),
@@ -53,12 +55,33 @@ COMMENT ON COLUMN accounts.created_at IS '계좌 생성 일시';
 COMMENT ON COLUMN accounts.updated_at IS '계좌 정보 최종 수정 일시';
 COMMENT ON COLUMN accounts.last_transaction_at IS '마지막 거래 발생 일시';
 COMMENT ON COLUMN accounts.account_holder_name IS '계좌주 명';
+COMMENT ON COLUMN accounts.stripe_count IS '분할 잔액(stripe) 수';
+COMMENT ON COLUMN accounts.version IS '낙관적 락 버전';
+
+
+-- 계좌 분할 잔액 테이블 (경합이 극심한 계좌의 입금 분산용)
+CREATE TABLE IF NOT EXISTS account_stripes (
+    account_id BIGINT NOT NULL, -- 계좌 ID (FK)
+    stripe_no INT NOT NULL, -- 분할 번호 (0부터)
+    balance DECIMAL(19,2) NOT NULL DEFAULT 0.00, -- 분할 잔액
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, -- 최종 수정 일시
+    PRIMARY KEY (account_id, stripe_no),
+    FOREIGN KEY (account_id) REFERENCES accounts(id),
+    -- 추가 제약조건
+    CONSTRAINT chk_stripe_balance_non_negative CHECK (balance >= 0)
+);
+COMMENT ON TABLE account_stripes IS '계좌 분할 잔액 테이블';
+COMMENT ON COLUMN account_stripes.account_id IS '계좌 고유 식별자 (외래 키)';
+COMMENT ON COLUMN account_stripes.stripe_no IS '분할 번호';
+COMMENT ON COLUMN account_stripes.balance IS '분할 잔액 (계좌 잔액 = 기본 잔액 + 분할 잔액 합계)';
+COMMENT ON COLUMN account_stripes.updated_at IS '분할 잔액 최종 수정 일시';
 
 
 -- 거래 내역 테이블
 CREATE TABLE IF NOT EXISTS transactions (
     id BIGINT AUTO_INCREMENT PRIMARY KEY, -- 거래 고유 ID
-    guid VARCHAR(36) NOT NULL UNIQUE, -- 거래 고유 식별자 (UUID)
+    guid VARCHAR(36) UNIQUE, -- 거래 고유 식별자 (STRING 저장 방식)
+    guid_bin BINARY(16) UNIQUE, -- 거래 고유 식별자 시간순 16바이트 (BINARY 저장 방식)
     from_account_id BIGINT, -- 출금 계좌 ID (FK, null 가능)
     to_account_id BIGINT, -- 입금 계좌 ID (FK, null 가능)
     customer_id BIGINT NOT NULL, -- 고객 ID (FK)
@@ -74,13 +97,15 @@ CREATE TABLE IF NOT EXISTS transactions (
     FOREIGN KEY (to_account_id) REFERENCES accounts(id),
     FOREIGN KEY (customer_id) REFERENCES customers(id),
 -- 추가 제약조건
-    CONSTRAINT chk_transaction_type CHECK (transaction_type IN ('DEPOSIT', 'WITHDRAWAL', 'FEE', 'INTEREST', 'PENALTY')),
+    CONSTRAINT chk_transaction_type CHECK (transaction_type IN ('DEPOSIT', 'WITHDRAWAL', 'TRANSFER', 'FEE', 'INTEREST', 'PENALTY')),
     CONSTRAINT chk_transaction_status CHECK (status IN ('PENDING', 'COMPLETED', 'FAILED', 'CANCELLED', 'REVERSED')),
-    CONSTRAINT chk_amount_positive CHECK (amount > 0)
+    CONSTRAINT chk_amount_positive CHECK (amount > 0),
+    CONSTRAINT chk_transaction_guid CHECK (guid IS NOT NULL OR guid_bin IS NOT NULL)
 );
 COMMENT ON TABLE transactions IS '은행 거래 내역 테이블';
 COMMENT ON COLUMN transactions.id IS '거래 고유 식별자';
 COMMENT ON COLUMN transactions.guid IS '글로벌 고유 식별자';
+COMMENT ON COLUMN transactions.guid_bin IS '글로벌 고유 식별자 (시간순 16바이트)';
 COMMENT ON COLUMN transactions.from_account_id IS '출금 계좌 ID (이체 시)';
 COMMENT ON COLUMN transactions.to_account_id IS '입금 계좌 ID (이체 및 입금 시)';
 COMMENT ON COLUMN transactions.customer_id IS '거래를 요청한 고객 ID';
@@ -110,6 +135,24 @@ COMMENT ON COLUMN notification_logs.type IS '알림 유형';
 COMMENT ON COLUMN notification_logs.created_at IS '알림 생성 일시';
 
 
+-- GUID 노드 임대 테이블 (인스턴스별 GUID 노드 식별자 발급용)
+CREATE TABLE IF NOT EXISTS guid_node_leases (
+    node_id INT PRIMARY KEY, -- 노드 번호 (0부터)
+    generation BIGINT NOT NULL DEFAULT 0, -- 임대 세대 (새 인스턴스가 임대할 때마다 1 증가)
+    owner VARCHAR(200) NOT NULL, -- 임대한 인스턴스 (호스트명 등, 참고용)
+    leased_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, -- 임대 일시
+    heartbeat_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, -- 마지막 갱신 일시
+    expires_at TIMESTAMP NOT NULL -- 임대 만료 일시 (지나면 다른 인스턴스가 다음 세대로 임대 가능)
+);
+COMMENT ON TABLE guid_node_leases IS 'GUID 노드 식별자 임대 테이블';
+COMMENT ON COLUMN guid_node_leases.node_id IS '노드 번호';
+COMMENT ON COLUMN guid_node_leases.generation IS '임대 세대';
+COMMENT ON COLUMN guid_node_leases.owner IS '임대한 인스턴스';
+COMMENT ON COLUMN guid_node_leases.leased_at IS '임대 일시';
+COMMENT ON COLUMN guid_node_leases.heartbeat_at IS '마지막 갱신 일시';
+COMMENT ON COLUMN guid_node_leases.expires_at IS '임대 만료 일시';
+
+
 -- 성능 최적화를 위한 인덱스 생성
 -- 고객 관련 인덱스
 CREATE INDEX idx_customers_customer_number ON customers(customer_number); -- 고객 번호 검색 최적화
@@ -130,7 +173,7 @@ CREATE INDEX idx_transactions_customer ON transactions(customer_id); -- 고객 I
 CREATE INDEX idx_transactions_created_at ON transactions(created_at); -- 거래 생성일시별 검색 최적화
 CREATE INDEX idx_transactions_status ON transactions(status); -- 거래 상태별 검색 최적화
 CREATE INDEX idx_transactions_type ON transactions(transaction_type); -- 거래 유형별 검색 최적화
-CREATE INDEX idx_transactions_guid ON transactions(guid); -- 거래 GUID 검색 최적화
+-- 거래 GUID 검색은 guid/guid_bin UNIQUE 제약의 인덱스를 사용
 
 -- 초기 샘플 데이터
 INSERT INTO customers (customer_number, name, email, phone_number) VALUES 
@@ -0,0 +1,34 @@
+package com.example.rollback.event;
+
+import com.example.rollback.util.ContextKey;
+import com.example.rollback.util.CtxMap;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 거래 실패 이벤트 테스트입니다.
+ */
+class TransactionFailedTest {
+
+    @Test
+    void contextIsFrozenSnapshotAtPublishTime() {
+        CtxMap context = new CtxMap().put(ContextKey.GUID, "G1");
+        TransactionFailed event = new TransactionFailed(context, 1L, "LockTimeoutException");
+        context.put(ContextKey.GUID, "G2");
+
+        CtxMap snapshot = event.getContext();
+        assertTrue(snapshot.isFrozen());
+        assertEquals("G1", snapshot.get(ContextKey.GUID));
+        assertThrows(UnsupportedOperationException.class,
+                () -> snapshot.put(ContextKey.PROCESSING_STATUS, "FAILED"));
+    }
+
+    @Test
+    void nullContextStaysNull() {
+        assertNull(new TransactionFailed(null, 1L, "reason").getContext());
+    }
+}
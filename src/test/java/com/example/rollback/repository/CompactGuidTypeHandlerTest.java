@@ -0,0 +1,73 @@
+package com.example.rollback.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 압축 GUID(BINARY(16)) 변환 테스트입니다.
+ */
+class CompactGuidTypeHandlerTest {
+
+    /** 시각(14) + 노드 식별자(11) + 시퀀스(5) */
+    private static final String MIN = "00000000000000" + "00000000000" + "00000";
+    private static final String MAX = "99999999999999" + "PPPPPPPPPPP" + "PPPPP";
+
+    @Test
+    void roundTripKeepsGuid() {
+        for (String guid : List.of(MIN, MAX,
+                "20261017093015" + "0A1B2C3D4E5" + "0000P",
+                "20261017093015" + "PPPPPPPPPPP" + "00000",
+                "99991231235959" + "00000000001" + "PPPPP")) {
+            byte[] encoded = CompactGuidTypeHandler.encode(guid);
+            assertEquals(16, encoded.length);
+            assertEquals(guid, CompactGuidTypeHandler.decode(encoded));
+        }
+    }
+
+    @Test
+    void byteOrderMatchesStringOrder() {
+        List<String> guids = new ArrayList<>(List.of(
+                MAX,
+                MIN,
+                "20261017093016" + "00000000000" + "00000",
+                "20261017093015" + "PPPPPPPPPPP" + "PPPPP",
+                "20261017093015" + "PPPPPPPPPPP" + "PPPPO",
+                // 노드 식별자의 마지막 자리는 상위/하위 long 경계를 넘어 저장됨
+                "20261017093015" + "0000000000P" + "00000",
+                "20261017093015" + "00000000010" + "00000",
+                "20261017093015" + "00000000001" + "PPPPP",
+                "20261017093015" + "10000000000" + "00000",
+                "20261017093014" + "PPPPPPPPPPP" + "PPPPP",
+                "19700101000000" + "00000000000" + "00001"));
+
+        List<String> byString = new ArrayList<>(guids);
+        byString.sort(Comparator.naturalOrder());
+        List<String> byBytes = new ArrayList<>(guids);
+        byBytes.sort((a, b) -> Arrays.compareUnsigned(
+                CompactGuidTypeHandler.encode(a), CompactGuidTypeHandler.encode(b)));
+
+        assertEquals(byString, byBytes);
+    }
+
+    @Test
+    void rejectsMalformedGuid() {
+        for (String guid : List.of(
+                MIN.substring(1),
+                MIN + "0",
+                // 시각 자리는 10진수만 허용
+                "2026101709301A" + "00000000000" + "00000",
+                // Base26 문자 집합(0-9, A-P) 밖의 문자
+                "20261017093015" + "0000000000Q" + "00000",
+                "20261017093015" + "00000000000" + "0000a")) {
+            assertThrows(IllegalArgumentException.class, () -> CompactGuidTypeHandler.encode(guid), guid);
+        }
+        assertThrows(IllegalArgumentException.class, () -> CompactGuidTypeHandler.decode(new byte[15]));
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.rollback.retry;
+
+import com.example.rollback.config.DepositProperties;
+import com.example.rollback.config.RetryProperties;
+import com.example.rollback.retry.strategy.RetryCondition;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 계좌 회로 차단기 테스트입니다.
+ */
+class AccountCircuitBreakerTest {
+
+    private static final Long ACCOUNT_ID = 1L;
+    private static final long OPEN_DURATION_MS = 200;
+
+    private final AccountCircuitBreaker circuitBreaker = circuitBreaker();
+
+    @Test
+    void budgetExhaustionIsNotCountedAsAccountFailure() {
+        for (int i = 0; i < 10; i++) {
+            circuitBreaker.checkPermission(ACCOUNT_ID);
+            circuitBreaker.onFailure(ACCOUNT_ID, new RetryBudgetExhaustedException(new RetryableException("account busy")));
+        }
+
+        assertDoesNotThrow(() -> circuitBreaker.checkPermission(ACCOUNT_ID));
+        assertTrue(circuitBreaker.getStatuses().isEmpty());
+    }
+
+    @Test
+    void ignoredTrialHandsOverToNextRequest() throws InterruptedException {
+        open();
+        Thread.sleep(OPEN_DURATION_MS + 10);
+
+        // 시험 요청이 계좌와 무관하게 끝나면(Error 등) 다음 요청이 다시 시험 요청이 됨
+        circuitBreaker.checkPermission(ACCOUNT_ID);
+        assertThrows(CircuitOpenException.class, () -> circuitBreaker.checkPermission(ACCOUNT_ID));
+        circuitBreaker.onIgnored(ACCOUNT_ID);
+
+        assertDoesNotThrow(() -> circuitBreaker.checkPermission(ACCOUNT_ID));
+        circuitBreaker.onSuccess(ACCOUNT_ID);
+        assertTrue(circuitBreaker.getStatuses().isEmpty());
+    }
+
+    @Test
+    void failedTrialReopens() throws InterruptedException {
+        open();
+        Thread.sleep(OPEN_DURATION_MS + 10);
+
+        circuitBreaker.checkPermission(ACCOUNT_ID);
+        circuitBreaker.onFailure(ACCOUNT_ID, new RetryableException("account busy"));
+
+        assertEquals(AccountCircuitBreaker.State.OPEN, circuitBreaker.getStatuses().get(0).state());
+    }
+
+    private void open() {
+        for (int i = 0; i < 2; i++) {
+            circuitBreaker.checkPermission(ACCOUNT_ID);
+            circuitBreaker.onFailure(ACCOUNT_ID, new RetryableException("account busy"));
+        }
+        assertThrows(CircuitOpenException.class, () -> circuitBreaker.checkPermission(ACCOUNT_ID));
+    }
+
+    private static AccountCircuitBreaker circuitBreaker() {
+        DepositProperties properties = new DepositProperties();
+        properties.getCircuitBreaker().setFailureThreshold(2);
+        properties.getCircuitBreaker().setOpenDurationMs(OPEN_DURATION_MS);
+        return new AccountCircuitBreaker(properties, new RetryCondition(new RetryProperties()));
+    }
+}
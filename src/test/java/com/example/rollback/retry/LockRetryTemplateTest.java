@@ -0,0 +1,149 @@
+package com.example.rollback.retry;
+
+import com.example.rollback.config.RetryProperties;
+import com.example.rollback.util.ContextHolder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 재시도 템플릿의 비동기 실행 테스트입니다.
+ */
+class LockRetryTemplateTest {
+
+    private static final long WAIT_MS = 200;
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    private final LockRetryTemplate template = new LockRetryTemplate(new FixedRetryStrategy(),
+            new TransactionTemplate(transactionManager),
+            new RetryBudget(new RetryProperties(), new SimpleMeterRegistry()),
+            new RetryMetrics(new SimpleMeterRegistry(), new RetryProperties()));
+
+    @AfterEach
+    void tearDown() {
+        template.shutdown();
+        ContextHolder.clearContext();
+        MDC.clear();
+    }
+
+    @Test
+    void retriesAreScheduledWithoutBlockingCaller() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        List<String> threads = new CopyOnWriteArrayList<>();
+
+        long started = System.nanoTime();
+        CompletableFuture<String> result = template.executeInTransactionAsync(null, () -> {
+            threads.add(Thread.currentThread().getName());
+            if (attempts.incrementAndGet() < 3) {
+                throw new RetryableException("account busy");
+            }
+            return "done";
+        }, null);
+        long returnedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        // 두 번의 대기(2 x WAIT_MS)를 호출 스레드에서 기다리지 않음
+        assertTrue(returnedMs < WAIT_MS, "호출 반환까지 " + returnedMs + "ms");
+        assertEquals("done", result.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals(3, attempts.get());
+        threads.forEach(name -> assertNotEquals(Thread.currentThread().getName(), name));
+        // 시도마다 새 트랜잭션
+        verify(transactionManager, times(3)).getTransaction(any());
+    }
+
+    @Test
+    void rejectedAttemptAfterShutdownCompletesFuture() {
+        template.shutdown();
+
+        CompletableFuture<String> result = template.executeAsync(() -> "done");
+
+        ExecutionException ex = assertThrows(ExecutionException.class,
+                () -> result.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertInstanceOf(RejectedExecutionException.class, ex.getCause());
+    }
+
+    @Test
+    void rejectedRetryScheduleAfterShutdownCompletesFuture() {
+        CompletableFuture<String> result = template.executeAsync(() -> {
+            // 첫 시도 도중 종료되어 다음 시도 예약이 거부됨
+            template.shutdown();
+            throw new RetryableException("account busy");
+        });
+
+        ExecutionException ex = assertThrows(ExecutionException.class,
+                () -> result.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertInstanceOf(RejectedExecutionException.class, ex.getCause());
+        assertInstanceOf(RetryableException.class, ex.getCause().getSuppressed()[0]);
+    }
+
+    @Test
+    void errorFromActionCompletesFuture() {
+        CompletableFuture<String> result = template.executeAsync(() -> {
+            throw new AssertionError("broken");
+        });
+
+        ExecutionException ex = assertThrows(ExecutionException.class,
+                () -> result.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertInstanceOf(AssertionError.class, ex.getCause());
+    }
+
+    @Test
+    void contextAndMdcReachEveryAttempt() throws Exception {
+        ContextHolder.initializeContext("G1");
+        MDC.put("guid", "G1");
+        AtomicInteger attempts = new AtomicInteger();
+        List<String> contextGuids = new CopyOnWriteArrayList<>();
+        List<String> mdcGuids = new CopyOnWriteArrayList<>();
+
+        CompletableFuture<String> result = template.executeAsync(() -> {
+            contextGuids.add(ContextHolder.getCurrentGuid());
+            mdcGuids.add(MDC.get("guid"));
+            if (attempts.incrementAndGet() < 3) {
+                throw new RetryableException("account busy");
+            }
+            return "done";
+        });
+
+        assertEquals("done", result.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals(List.of("G1", "G1", "G1"), contextGuids);
+        assertEquals(List.of("G1", "G1", "G1"), mdcGuids);
+    }
+
+    /**
+     * {@link RetryableException}만 고정 대기 후 다섯 번까지 재시도하는 전략입니다.
+     */
+    private static final class FixedRetryStrategy implements RetryStrategy {
+
+        @Override
+        public boolean shouldRetry(Exception ex, int attemptCount) {
+            return ex instanceof RetryableException && attemptCount < 5;
+        }
+
+        @Override
+        public long getWaitTime(int attemptCount) {
+            return WAIT_MS;
+        }
+    }
+}
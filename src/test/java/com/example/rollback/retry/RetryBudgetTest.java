@@ -0,0 +1,66 @@
+package com.example.rollback.retry;
+
+import com.example.rollback.config.RetryProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 재시도 예산 테스트입니다.
+ */
+class RetryBudgetTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void overloadKeepsMinimumRetryThroughput() {
+        RetryBudget budget = budget(20, 10);
+
+        // 10초 동안 10ms마다 10건씩 들어와 첫 시도가 모두 실패하고, 각각 재시도 1회를 요청
+        int[] grantedPerSecond = new int[10];
+        for (int tick = 0; tick < 1000; tick++) {
+            for (int request = 0; request < 10; request++) {
+                if (budget.tryAcquire()) {
+                    grantedPerSecond[tick / 100]++;
+                }
+            }
+            clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+
+        // 처음에는 쌓아 둔 토큰을 쓰고, 그 뒤로는 초당 최소 충전량만큼 꾸준히 재시도
+        assertTrue(grantedPerSecond[0] >= 20, "첫 1초: " + grantedPerSecond[0]);
+        for (int second = 1; second < grantedPerSecond.length; second++) {
+            assertTrue(grantedPerSecond[second] >= 9 && grantedPerSecond[second] <= 11,
+                    second + "초: " + grantedPerSecond[second]);
+        }
+    }
+
+    @Test
+    void firstAttemptSuccessRefillsUpToMaxTokens() {
+        RetryBudget budget = budget(5, 0);
+        for (int i = 0; i < 5; i++) {
+            assertTrue(budget.tryAcquire());
+        }
+        assertFalse(budget.tryAcquire());
+
+        for (int i = 0; i < 100; i++) {
+            budget.onFirstAttemptSuccess();
+        }
+        assertEquals(5, budget.availableTokens());
+    }
+
+    private RetryBudget budget(double maxTokens, double minRetriesPerSecond) {
+        RetryProperties properties = new RetryProperties();
+        properties.getBudget().setEnabled(true);
+        properties.getBudget().setMaxTokens(maxTokens);
+        properties.getBudget().setRefillRatio(0.2);
+        properties.getBudget().setMinRetriesPerSecond(minRetriesPerSecond);
+        return new RetryBudget(properties, new SimpleMeterRegistry(), clock::get);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.rollback.retry;
+
+import com.example.rollback.config.RetryProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 재시도 지표 테스트입니다.
+ */
+class RetryMetricsTest {
+
+    private static final long WINDOW_MS = 200;
+
+    @Test
+    void keyStatsIncludeAttemptAndBackoffHistograms() {
+        RetryMetrics metrics = metrics(100);
+        ContentionKey key = ContentionKey.account("deposit", 1L);
+
+        metrics.record(key, 2, 1, 5, null);
+        metrics.record(key, 4, 3, 300, null);
+        metrics.record(key, 11, 11, 6000, new RetryableException("account busy"));
+
+        RetryMetrics.KeySnapshot snapshot = metrics.snapshot(1).hottestKeys().get(0);
+        assertEquals(3, snapshot.executions());
+        assertEquals(1, snapshot.finalFailures());
+        assertArrayEquals(new long[] { 0, 1, 0, 1, 0, 1 }, snapshot.attemptHistogram());
+        assertArrayEquals(new long[] { 0, 1, 0, 1, 0, 0, 1 }, snapshot.backoffHistogram());
+    }
+
+    @Test
+    void keysExpireAfterTwoWindowsAndFreeTrackingSlots() throws InterruptedException {
+        RetryMetrics metrics = metrics(2);
+        metrics.record(ContentionKey.account("deposit", 1L), 2, 1, 5, null);
+        metrics.record(ContentionKey.account("deposit", 2L), 2, 1, 5, null);
+        metrics.record(ContentionKey.account("deposit", 3L), 2, 1, 5, null);
+        assertEquals(2, metrics.snapshot(10).trackedKeys());
+
+        // 다음 구간: 직전 구간 키는 남아 있고, 새 키도 추적
+        Thread.sleep(WINDOW_MS + 20);
+        metrics.record(ContentionKey.account("deposit", 3L), 5, 4, 50, null);
+        assertEquals(3, metrics.snapshot(10).trackedKeys());
+        assertEquals(3L, metrics.snapshot(1).hottestKeys().get(0).id());
+
+        // 구간 두 개가 지나면 모두 사라짐
+        Thread.sleep(2 * WINDOW_MS + 20);
+        assertEquals(0, metrics.snapshot(10).trackedKeys());
+    }
+
+    private static RetryMetrics metrics(int maxTrackedKeys) {
+        RetryProperties properties = new RetryProperties();
+        properties.getMetrics().setMaxTrackedKeys(maxTrackedKeys);
+        properties.getMetrics().setKeyWindowMs(WINDOW_MS);
+        return new RetryMetrics(new SimpleMeterRegistry(), properties);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.rollback.service;
+
+import com.example.rollback.domain.DepositRequest;
+import com.example.rollback.event.TransactionFailed;
+import com.example.rollback.retry.AccountCircuitBreaker;
+import com.example.rollback.retry.CircuitOpenException;
+import com.example.rollback.retry.RetryableException;
+import com.example.rollback.util.ContextHolder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 입금 서비스 테스트입니다.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:account-service-test",
+        "banking.deposit.circuit-breaker.failure-threshold=2",
+        "banking.deposit.circuit-breaker.open-duration-ms=60000"
+})
+@RecordApplicationEvents
+class AccountServiceTest {
+
+    private static final Long ACCOUNT_ID = 4L;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountCircuitBreaker circuitBreaker;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @AfterEach
+    void tearDown() {
+        ContextHolder.clearContext();
+    }
+
+    @Test
+    void circuitOpenRejectionsDoNotPublishFailureEvents() {
+        for (int i = 0; i < 2; i++) {
+            circuitBreaker.checkPermission(ACCOUNT_ID);
+            circuitBreaker.onFailure(ACCOUNT_ID, new RetryableException("account busy"));
+        }
+        ContextHolder.initializeContext("G1");
+
+        for (int i = 0; i < 50; i++) {
+            assertThrows(CircuitOpenException.class, () -> accountService.deposit(deposit()));
+        }
+
+        assertEquals(0, events.stream(TransactionFailed.class).count());
+    }
+
+    private static DepositRequest deposit() {
+        DepositRequest request = new DepositRequest();
+        request.setAccountId(ACCOUNT_ID);
+        request.setCustomerId(3L);
+        request.setAmount(BigDecimal.ONE);
+        request.setCurrency("KRW");
+        return request;
+    }
+}
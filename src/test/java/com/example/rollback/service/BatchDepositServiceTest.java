@@ -0,0 +1,110 @@
+package com.example.rollback.service;
+
+import com.example.rollback.domain.BatchDepositResult;
+import com.example.rollback.domain.BatchFailureMode;
+import com.example.rollback.domain.DepositItemResult;
+import com.example.rollback.domain.DepositRequest;
+import com.example.rollback.repository.AccountRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 일괄 입금 테스트입니다.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:batch-deposit-test",
+        "banking.deposit.batch.chunk-size=50"
+})
+class BatchDepositServiceTest {
+
+    @Autowired
+    private BatchDepositService batchDepositService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Test
+    void largeBatchAppliesEveryItemWithItsOwnGuid() {
+        BigDecimal before = accountRepository.findById(1L).getBalance();
+        List<DepositRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            requests.add(deposit(1L, 1L, "10"));
+        }
+
+        BatchDepositResult result = batchDepositService.depositBatch(requests, BatchFailureMode.PER_ITEM);
+
+        assertEquals(500, result.getSucceeded());
+        assertEquals(0, result.getFailed());
+        Set<Long> transactionIds = new HashSet<>();
+        result.getItems().forEach(item -> transactionIds.add(item.getTransactionId()));
+        assertEquals(500, transactionIds.size());
+        assertEquals(before.add(new BigDecimal("5000")), accountRepository.findById(1L).getBalance());
+    }
+
+    @Test
+    void perItemSkipsOnlyItemsWithDatabaseErrors() {
+        BigDecimal before = accountRepository.findById(2L).getBalance();
+        List<DepositRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            // 존재하지 않는 고객 ID는 검증을 통과하고 INSERT에서 외래 키 오류가 남
+            requests.add(deposit(2L, i == 70 ? 999L : 1L, "1"));
+        }
+
+        BatchDepositResult result = batchDepositService.depositBatch(requests, BatchFailureMode.PER_ITEM);
+
+        assertFalse(result.isRolledBack());
+        assertEquals(119, result.getSucceeded());
+        assertEquals(1, result.getFailed());
+        DepositItemResult failed = result.getItems().get(70);
+        assertFalse(failed.isSuccess());
+        assertNull(failed.getTransactionId());
+        assertTrue(result.getItems().get(71).isSuccess());
+        assertEquals(before.add(new BigDecimal("119")), accountRepository.findById(2L).getBalance());
+    }
+
+    @Test
+    void allOrNothingReportsDatabaseErrorPerItemAndRollsBack() {
+        BigDecimal before = accountRepository.findById(3L).getBalance();
+        List<DepositRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            requests.add(deposit(3L, i == 70 ? 999L : 1L, "1"));
+        }
+
+        BatchDepositResult result = batchDepositService.depositBatch(requests, BatchFailureMode.ALL_OR_NOTHING);
+
+        assertTrue(result.isRolledBack());
+        assertEquals(0, result.getSucceeded());
+        assertEquals(120, result.getFailed());
+        // 청크 크기 50: 오류가 난 건이 속한 청크(50~99)는 원인 메시지, 나머지는 다른 건의 실패로 롤백
+        for (int i = 0; i < 120; i++) {
+            String message = result.getItems().get(i).getMessage();
+            if (i >= 50 && i < 100) {
+                assertTrue(message.startsWith("거래 저장 실패: "), message);
+            } else {
+                assertEquals("다른 건의 실패로 전체 롤백되었습니다", message);
+            }
+        }
+        assertEquals(before, accountRepository.findById(3L).getBalance());
+    }
+
+    private DepositRequest deposit(long accountId, long customerId, String amount) {
+        DepositRequest request = new DepositRequest();
+        request.setAccountId(accountId);
+        request.setCustomerId(customerId);
+        request.setAmount(new BigDecimal(amount));
+        request.setCurrency("KRW");
+        return request;
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.rollback.service;
+
+import com.example.rollback.config.DepositProperties;
+import com.example.rollback.domain.Account;
+import com.example.rollback.domain.DepositRequest;
+import com.example.rollback.repository.AccountRepository;
+import com.example.rollback.repository.TransactionRepository;
+import com.example.rollback.util.ContextHolder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 입금 합치기 테스트입니다.
+ */
+class DepositCoalescerTest {
+
+    private static final Duration MAX_TEST_TIME = Duration.ofSeconds(10);
+
+    private final AccountRepository accountRepository = mock(AccountRepository.class);
+
+    private DepositCoalescer coalescer;
+
+    @AfterEach
+    void tearDown() {
+        if (coalescer != null) {
+            coalescer.shutdown();
+        }
+        ContextHolder.clearContext();
+        MDC.clear();
+    }
+
+    @Test
+    void flushRunsWithCallerContextAndMdc() {
+        coalescer = coalescer(1, 64, 30000);
+        AtomicReference<String> contextGuid = new AtomicReference<>();
+        AtomicReference<String> mdcGuid = new AtomicReference<>();
+        when(accountRepository.incrementBalance(anyLong(), any())).thenAnswer(invocation -> {
+            contextGuid.set(ContextHolder.getCurrentGuid());
+            mdcGuid.set(MDC.get("guid"));
+            return account();
+        });
+        ContextHolder.initializeContext("G1");
+        MDC.put("guid", "G1");
+
+        coalescer.deposit(deposit(), "G1");
+
+        assertEquals("G1", contextGuid.get());
+        assertEquals("G1", mdcGuid.get());
+    }
+
+    @Test
+    void shutdownFailsDepositsWaitingForWindow() throws Exception {
+        coalescer = coalescer(60000, 64, 30000);
+        CompletableFuture<Object> caller = CompletableFuture.supplyAsync(() -> coalescer.deposit(deposit(), "G1"));
+        Thread.sleep(200);
+
+        coalescer.shutdown();
+
+        ExecutionException ex = assertThrows(ExecutionException.class,
+                () -> caller.get(MAX_TEST_TIME.toMillis(), TimeUnit.MILLISECONDS));
+        assertInstanceOf(IllegalStateException.class, ex.getCause());
+    }
+
+    @Test
+    void rejectedFlushFailsGroupInsteadOfHanging() {
+        coalescer = coalescer(60000, 1, 30000);
+        coalescer.shutdown();
+
+        assertTimeoutPreemptively(MAX_TEST_TIME,
+                () -> assertThrows(IllegalStateException.class, () -> coalescer.deposit(deposit(), "G1")));
+    }
+
+    @Test
+    void waitIsBounded() {
+        coalescer = coalescer(60000, 64, 100);
+
+        IllegalStateException ex = assertTimeoutPreemptively(MAX_TEST_TIME,
+                () -> assertThrows(IllegalStateException.class, () -> coalescer.deposit(deposit(), "G1")));
+        assertInstanceOf(TimeoutException.class, ex.getCause());
+    }
+
+    private DepositCoalescer coalescer(long windowMs, int maxBatchSize, long maxWaitMs) {
+        DepositProperties properties = new DepositProperties();
+        properties.getCoalescing().setWindowMs(windowMs);
+        properties.getCoalescing().setMaxBatchSize(maxBatchSize);
+        properties.getCoalescing().setFlushThreads(1);
+        properties.getCoalescing().setMaxWaitMs(maxWaitMs);
+        return new DepositCoalescer(accountRepository, mock(TransactionRepository.class),
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), properties, new SimpleMeterRegistry());
+    }
+
+    private static DepositRequest deposit() {
+        DepositRequest request = new DepositRequest();
+        request.setAccountId(1L);
+        request.setCustomerId(1L);
+        request.setAmount(BigDecimal.TEN);
+        request.setCurrency("KRW");
+        return request;
+    }
+
+    private static Account account() {
+        Account account = new Account();
+        account.setId(1L);
+        account.setAccountNumber("1000-0001");
+        account.setBalance(BigDecimal.TEN);
+        return account;
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.rollback.service;
+
+import com.example.rollback.domain.BatchFailureMode;
+import com.example.rollback.domain.DepositItemResult;
+import com.example.rollback.repository.AccountRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * NDJSON 스트림 입금 테스트입니다.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:deposit-stream-test",
+        "banking.deposit.stream.chunk-size=3",
+        "banking.deposit.stream.max-line-length=200"
+})
+class DepositStreamServiceTest {
+
+    private static final String DEPOSIT = "{\"accountId\":%d,\"customerId\":1,\"amount\":1,\"currency\":\"KRW\"}";
+
+    @Autowired
+    private DepositStreamService depositStreamService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void allOrNothingSkipsChunkWithUnparsableLine() throws Exception {
+        BigDecimal before = accountRepository.findById(1L).getBalance();
+        String body = String.join("\n",
+                DEPOSIT.formatted(1L), "{not json", DEPOSIT.formatted(1L),
+                DEPOSIT.formatted(1L), DEPOSIT.formatted(1L), DEPOSIT.formatted(1L));
+
+        List<DepositItemResult> results = ingest(body, BatchFailureMode.ALL_OR_NOTHING);
+
+        assertEquals(6, results.size());
+        // 첫 청크(0~2)는 변환 실패 줄 때문에 반영하지 않고, 다음 청크(3~5)는 반영
+        for (int i = 0; i < 3; i++) {
+            assertFalse(results.get(i).isSuccess());
+        }
+        assertTrue(results.get(1).getMessage().startsWith("JSON 형식 오류"));
+        assertEquals("다른 건의 실패로 전체 롤백되었습니다", results.get(0).getMessage());
+        for (int i = 3; i < 6; i++) {
+            assertTrue(results.get(i).isSuccess());
+        }
+        assertEquals(before.add(new BigDecimal("3")), accountRepository.findById(1L).getBalance());
+    }
+
+    @Test
+    void oversizeLineIsReportedAsFailedLine() throws Exception {
+        BigDecimal before = accountRepository.findById(2L).getBalance();
+        String body = DEPOSIT.formatted(2L) + "\n" + "x".repeat(100_000) + "\n" + DEPOSIT.formatted(2L) + "\r\n";
+
+        List<DepositItemResult> results = ingest(body, BatchFailureMode.PER_ITEM);
+
+        assertEquals(3, results.size());
+        assertTrue(results.get(0).isSuccess());
+        assertFalse(results.get(1).isSuccess());
+        assertEquals(1, results.get(1).getIndex());
+        assertTrue(results.get(1).getMessage().contains("최대 길이"));
+        assertTrue(results.get(2).isSuccess());
+        assertEquals(before.add(new BigDecimal("2")), accountRepository.findById(2L).getBalance());
+    }
+
+    private List<DepositItemResult> ingest(String body, BatchFailureMode mode) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        depositStreamService.ingest(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), out, mode);
+        List<DepositItemResult> results = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            results.add(objectMapper.readValue(line, DepositItemResult.class));
+        }
+        return results;
+    }
+}
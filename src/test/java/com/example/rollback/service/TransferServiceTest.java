@@ -0,0 +1,111 @@
+package com.example.rollback.service;
+
+import com.example.rollback.domain.TransferRequest;
+import com.example.rollback.repository.AccountRepository;
+import com.example.rollback.util.ContextHolder;
+import com.example.rollback.util.GuidQueueUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+/**
+ * 이체 동시성 테스트입니다.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:transfer-test",
+        // 락을 기다리는 정책에서만 잠금 순서가 어긋나면 교착이 생김 (대기 시간 초과는 나지 않도록 넉넉히)
+        "banking.lock.policies.transfer=WAIT",
+        "banking.lock.wait-timeout-ms=30000",
+        // 교착으로 롤백된 시도가 재시도로 가려지지 않도록 재시도하지 않음
+        "banking.retry.strategy=RANDOM_BACKOFF",
+        "banking.retry.random-backoff.max-retries=1"
+})
+class TransferServiceTest {
+
+    private static final int THREADS = 16;
+    private static final int TRANSFERS_PER_THREAD = 25;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private GuidQueueUtil guidQueueUtil;
+
+    @Test
+    void oppositeDirectionTransfersFinishWithoutDeadlockAndPreserveTotal() throws Exception {
+        BigDecimal before = totalBalance();
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                // 절반은 1 -> 2, 절반은 2 -> 1 (둘 다 고객 1의 계좌)
+                boolean forward = t % 2 == 0;
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < TRANSFERS_PER_THREAD; i++) {
+                        ContextHolder.initializeContext(guidQueueUtil.getGUID());
+                        try {
+                            transferService.transfer(transfer(forward ? 1L : 2L, forward ? 2L : 1L));
+                            succeeded.incrementAndGet();
+                        } catch (RuntimeException ex) {
+                            // 교착이 감지되어 롤백된 경우
+                            failed.incrementAndGet();
+                        } finally {
+                            ContextHolder.clearContext();
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            assertTimeoutPreemptively(Duration.ofSeconds(60), () -> {
+                for (Future<?> worker : workers) {
+                    worker.get();
+                }
+            });
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+
+        assertEquals(0, failed.get());
+        assertEquals(THREADS * TRANSFERS_PER_THREAD, succeeded.get());
+        assertEquals(0, before.compareTo(totalBalance()));
+    }
+
+    private BigDecimal totalBalance() {
+        return accountRepository.findById(1L).getBalance().add(accountRepository.findById(2L).getBalance());
+    }
+
+    private TransferRequest transfer(long fromAccountId, long toAccountId) {
+        TransferRequest request = new TransferRequest();
+        request.setFromAccountId(fromAccountId);
+        request.setToAccountId(toAccountId);
+        request.setCustomerId(1L);
+        request.setAmount(new BigDecimal("10"));
+        request.setCurrency("KRW");
+        return request;
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.rollback.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 요청 컨텍스트 테스트입니다.
+ */
+class CtxMapTest {
+
+    @Test
+    void copyKeepsValuesAtCopyTime() {
+        CtxMap context = new CtxMap()
+                .put(ContextKey.GUID, "G1")
+                .putLong(ContextKey.ORDER_ID, 10L)
+                .put("custom", "A");
+
+        CtxMap snapshot = context.copy();
+        context.put(ContextKey.GUID, "G2").putLong(ContextKey.ORDER_ID, 20L).put("custom", "B");
+        snapshot.put(ContextKey.PROCESSING_STATUS, "FAILED");
+
+        assertEquals("G1", snapshot.get(ContextKey.GUID));
+        assertEquals(10L, snapshot.getLong(ContextKey.ORDER_ID, 0L));
+        assertEquals("A", snapshot.getString("custom"));
+        assertEquals("G2", context.get(ContextKey.GUID));
+        assertNull(context.get(ContextKey.PROCESSING_STATUS));
+    }
+
+    @Test
+    void serializationRoundTripKeepsAllValues() throws Exception {
+        CtxMap context = new CtxMap()
+                .put(ContextKey.GUID, "G1")
+                .putLong(ContextKey.ORDER_ID, 10L)
+                .putInt(ContextKey.AMOUNT, 1000)
+                .put("custom", "A");
+        CtxMap shared = context.copy();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(shared);
+        }
+        CtxMap restored;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            restored = (CtxMap) in.readObject();
+        }
+
+        assertEquals(context, restored);
+        assertEquals(10L, restored.getLong(ContextKey.ORDER_ID, 0L));
+        assertEquals(1000, restored.getInt(ContextKey.AMOUNT, 0));
+
+        // 복원된 맵은 저장소를 공유하지 않음
+        restored.put(ContextKey.GUID, "G2");
+        assertEquals("G1", shared.get(ContextKey.GUID));
+    }
+
+    @Test
+    void frozenSnapshotRejectsWrites() {
+        CtxMap context = new CtxMap().put(ContextKey.GUID, "G1").put("custom", "A");
+        CtxMap frozen = context.frozen();
+        context.put(ContextKey.GUID, "G2");
+
+        assertTrue(frozen.isFrozen());
+        assertSame(frozen, frozen.frozen());
+        assertEquals("G1", frozen.get(ContextKey.GUID));
+        assertThrows(UnsupportedOperationException.class, () -> frozen.put(ContextKey.GUID, "G3"));
+        assertThrows(UnsupportedOperationException.class, () -> frozen.put("custom", "B"));
+        assertThrows(UnsupportedOperationException.class, () -> frozen.putLong(ContextKey.ORDER_ID, 1L));
+        assertThrows(UnsupportedOperationException.class, () -> frozen.putAll(Map.of()));
+        assertThrows(UnsupportedOperationException.class, () -> frozen.remove("missing"));
+        assertThrows(UnsupportedOperationException.class, frozen::clear);
+        assertEquals("G1", frozen.get(ContextKey.GUID));
+
+        // 고정된 스냅샷의 복사본은 쓸 수 있고, 스냅샷에는 영향을 주지 않음
+        CtxMap copy = frozen.copy();
+        copy.put(ContextKey.GUID, "G4").clear();
+        assertFalse(copy.isFrozen());
+        assertEquals("G1", frozen.get(ContextKey.GUID));
+        assertEquals("A", frozen.getString("custom"));
+    }
+
+    @Test
+    void frozenSnapshotStaysFrozenAfterSerialization() throws Exception {
+        CtxMap frozen = new CtxMap().put(ContextKey.GUID, "G1").frozen();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(frozen);
+        }
+        CtxMap restored;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            restored = (CtxMap) in.readObject();
+        }
+
+        assertEquals(frozen, restored);
+        assertTrue(restored.isFrozen());
+        assertThrows(UnsupportedOperationException.class, () -> restored.put(ContextKey.GUID, "G2"));
+    }
+}
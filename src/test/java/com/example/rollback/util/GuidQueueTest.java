@@ -0,0 +1,127 @@
+package com.example.rollback.util;
+
+import com.example.rollback.config.GuidProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * GUID 발급 테스트입니다.
+ */
+class GuidQueueTest {
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+
+    private static final int THREADS = 8;
+    private static final int GUIDS_PER_THREAD = 20_000;
+
+    /** 한 초에 발급할 수 있는 시퀀스 수 (26^5) */
+    private static final int SEQUENCE_LIMIT = 26 * 26 * 26 * 26 * 26;
+
+    @ParameterizedTest
+    @EnumSource(GuidProperties.Mode.class)
+    void concurrentIssuanceHasNoDuplicates(GuidProperties.Mode mode) throws Exception {
+        // 블록을 자주 새로 받도록 작은 블록 크기 사용
+        GuidQueue guidQueue = guidQueue(mode, 7);
+        Set<String> guids = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < GUIDS_PER_THREAD; i++) {
+                        String guid = guidQueue.getGUID();
+                        assertEquals(30, guid.length(), guid);
+                        guids.add(guid);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(THREADS * GUIDS_PER_THREAD, guids.size());
+    }
+
+    @Test
+    void exhaustedSecondMovesToNextSecondWithoutReuse() throws Exception {
+        // 블록 하나가 한 초의 시퀀스를 모두 예약하므로, 다음 예약은 다음 초의 0번부터 시작
+        GuidQueue guidQueue = guidQueue(GuidProperties.Mode.THREAD_BLOCK, SEQUENCE_LIMIT);
+        String first = guidQueue.getGUID();
+        String second = issueOn(Thread.ofPlatform(), guidQueue);
+        // 가상 스레드는 공유 카운터에서 한 건씩 발급
+        String third = issueOn(Thread.ofVirtual(), guidQueue);
+
+        assertTrue(first.compareTo(second) < 0, first + " < " + second);
+        assertTrue(second.compareTo(third) < 0, second + " < " + third);
+        assertTrue(first.substring(0, 14).compareTo(second.substring(0, 14)) < 0, first + " / " + second);
+        assertTrue(second.substring(0, 14).compareTo(third.substring(0, 14)) < 0, second + " / " + third);
+        assertEquals("00000", second.substring(25));
+        assertEquals("00000", third.substring(25));
+    }
+
+    @Test
+    void timestampIsUtcRegardlessOfDefaultTimeZone() {
+        TimeZone defaultZone = TimeZone.getDefault();
+        // 서머타임이 있는 시간대여도 GUID 시각은 UTC
+        TimeZone.setDefault(TimeZone.getTimeZone("America/New_York"));
+        try {
+            GuidQueue guidQueue = guidQueue();
+            String before = LocalDateTime.now(ZoneOffset.UTC).format(TIMESTAMP);
+            String guid = guidQueue.getGUID();
+            String after = LocalDateTime.now(ZoneOffset.UTC).format(TIMESTAMP);
+
+            assertEquals(30, guid.length());
+            String timestamp = guid.substring(0, 14);
+            assertTrue(timestamp.compareTo(before) >= 0 && timestamp.compareTo(after) <= 0,
+                    timestamp + " (UTC " + before + " ~ " + after + ")");
+        } finally {
+            TimeZone.setDefault(defaultZone);
+        }
+    }
+
+    /**
+     * 새 스레드에서 GUID 하나를 발급합니다. (스레드별 블록이 없는 상태에서 예약)
+     */
+    private static String issueOn(Thread.Builder builder, GuidQueue guidQueue) throws InterruptedException {
+        String[] guid = new String[1];
+        builder.start(() -> guid[0] = guidQueue.getGUID()).join();
+        return guid[0];
+    }
+
+    private static GuidQueue guidQueue() {
+        return guidQueue(GuidProperties.Mode.SHARED, 256);
+    }
+
+    private static GuidQueue guidQueue(GuidProperties.Mode mode, int blockSize) {
+        GuidProperties properties = new GuidProperties();
+        properties.setMode(mode);
+        properties.setBlockSize(blockSize);
+        properties.getNodeLease().setEnabled(false);
+        return new GuidQueue(properties, new GuidNodeLeaseManager(properties, null));
+    }
+}